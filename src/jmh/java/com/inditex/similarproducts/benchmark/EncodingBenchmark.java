@@ -0,0 +1,89 @@
+package com.inditex.similarproducts.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.SimilarProductsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Encoding of the response body as the service writes it (encode) and as a JVM caller reads it back into its own
+// product type (decode), for JSON, JSON compressed with gzip at the default level as Tomcat does, and CBOR. The
+// payload size of each is printed when the trial starts
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    @Param({"10", "100"})
+    private int products;
+
+    @Param({"json", "gzip", "cbor"})
+    private String encoding;
+
+    private SimilarProductsResponse response;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Product> similarProducts = IntStream.rangeClosed(1, products)
+                .mapToObj(id -> StubSimilarProductsClient.product(String.valueOf(id)))
+                .toList();
+        response = new SimilarProductsResponse(similarProducts);
+        ObjectMapper objectMapper = encoding.equals("cbor")
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(SimilarProductsResponse.class);
+        reader = objectMapper.readerForListOf(CallerProduct.class);
+        payload = encode();
+        System.out.printf("%n%s payload of %d products: %d bytes%n", encoding, products, payload.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(body) : body) {
+            writer.writeValue(out, response);
+        }
+        return body.toByteArray();
+    }
+
+    @Benchmark
+    public List<CallerProduct> decode() throws IOException {
+        InputStream body = new ByteArrayInputStream(payload);
+        try (InputStream in = encoding.equals("gzip") ? new GZIPInputStream(body) : body) {
+            return reader.readValue(in);
+        }
+    }
+
+    public record CallerProduct(String id, String name, BigDecimal price, boolean availability) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.inditex.similarproducts.benchmark;
+
+import com.inditex.similarproducts.application.getsimilarproducts.ConcurrentFanOut;
+import com.inditex.similarproducts.application.getsimilarproducts.FanOut;
+import com.inditex.similarproducts.application.getsimilarproducts.GetSimilarProductsUseCaseImpl;
+import com.inditex.similarproducts.application.getsimilarproducts.SequentialFanOut;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Whole use case against the stub client, comparing the fan-out modes of use_cases.get_similar_products.fan_out
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FanOutBenchmark {
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    @Param({"5", "20"})
+    private int similarProducts;
+
+    // Simulated latency of every upstream call, in milliseconds
+    @Param({"0", "5"})
+    private long latency;
+
+    private FanOut fanOut;
+    private GetSimilarProductsUseCase getSimilarProductsUseCase;
+
+    @Setup
+    public void setUp() {
+        fanOut = mode.equals("parallel")
+                ? new ConcurrentFanOut(Executors.newVirtualThreadPerTaskExecutor(), 8)
+                : new SequentialFanOut();
+        getSimilarProductsUseCase = new GetSimilarProductsUseCaseImpl(
+                new StubSimilarProductsClient(similarProducts, Duration.ofMillis(latency)), fanOut);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (fanOut instanceof ConcurrentFanOut concurrentFanOut) {
+            concurrentFanOut.close();
+        }
+    }
+
+    @Benchmark
+    public List<Product> getSimilarProducts() {
+        return getSimilarProductsUseCase.getSimilarProducts("1");
+    }
+}
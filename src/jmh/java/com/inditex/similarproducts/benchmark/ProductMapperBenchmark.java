@@ -0,0 +1,34 @@
+package com.inditex.similarproducts.benchmark;
+
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private final ProductMapper productMapper = new ProductMapperImpl();
+    private final Product product = StubSimilarProductsClient.product("1");
+
+    @Benchmark
+    public ProductResponseDTO toResponseDTO() {
+        return productMapper.toResponseDTO(product);
+    }
+}
@@ -0,0 +1,67 @@
+package com.inditex.similarproducts.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.SimilarProductsResponse;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Serialization of the response body, with an ObjectMapper built like the one Spring MVC uses. mapAndSerialize is
+// the former response path, copying every product into a ProductResponseDTO first, and serialize the current one
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int products;
+
+    private List<Product> similarProducts;
+    private ProductMapper productMapper;
+    private ObjectWriter dtoWriter;
+    private ObjectWriter responseWriter;
+
+    @Setup
+    public void setUp() {
+        productMapper = new ProductMapperImpl();
+        similarProducts = IntStream.rangeClosed(1, products)
+                .mapToObj(id -> StubSimilarProductsClient.product(String.valueOf(id)))
+                .toList();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        dtoWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponseDTO.class));
+        responseWriter = objectMapper.writerFor(SimilarProductsResponse.class);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return dtoWriter.writeValueAsBytes(similarProducts.stream().map(productMapper::toResponseDTO).toList());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return responseWriter.writeValueAsBytes(new SimilarProductsResponse(similarProducts));
+    }
+}
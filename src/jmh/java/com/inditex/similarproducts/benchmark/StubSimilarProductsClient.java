@@ -0,0 +1,49 @@
+package com.inditex.similarproducts.benchmark;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+// In-memory stand-in for the external service, answering every call after a fixed simulated latency
+public class StubSimilarProductsClient implements SimilarProductsClient {
+
+    private final List<String> similarProductIds;
+    private final Duration latency;
+
+    public StubSimilarProductsClient(int similarProducts, Duration latency) {
+        this.similarProductIds = IntStream.rangeClosed(1, similarProducts).mapToObj(String::valueOf).toList();
+        this.latency = latency;
+    }
+
+    @Override
+    public List<String> getSimilarProductIds(String productId) {
+        simulateLatency();
+        return similarProductIds;
+    }
+
+    @Override
+    public Optional<Product> getProductDetails(String productId) {
+        simulateLatency();
+        return Optional.of(product(productId));
+    }
+
+    public static Product product(String productId) {
+        return new Product(productId, "Product " + productId, new BigDecimal("19.99"), true);
+    }
+
+    private void simulateLatency() {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.inditex.similarproducts.benchmark;
+
+import com.inditex.similarproducts.application.getsimilarproducts.ConcurrentFanOut;
+import com.inditex.similarproducts.application.getsimilarproducts.GetSimilarProductsUseCaseImpl;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Requests handled the way Tomcat does with spring.threads.virtual.enabled off (a pool of 200 platform threads, its
+// default maximum) and on (a virtual thread per request), with IN_FLIGHT requests arriving together and blocking on
+// the stub client. Scores are per request: throughput in requests per second, and with -prof gc the heap allocated
+// per request, which for virtual threads includes their stacks. Platform threads keep their stacks in native memory
+// instead, reserved once per pool thread (-Xss, 1 MB by default) whether a request is in flight or not
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModelBenchmark {
+
+    private static final int IN_FLIGHT = 1000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    // Simulated latency of every upstream call, in milliseconds
+    @Param({"20"})
+    private long latency;
+
+    private ExecutorService requestExecutor;
+    private ConcurrentFanOut fanOut;
+    private GetSimilarProductsUseCase getSimilarProductsUseCase;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestExecutor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        fanOut = new ConcurrentFanOut(Executors.newVirtualThreadPerTaskExecutor(), 8);
+        getSimilarProductsUseCase = new GetSimilarProductsUseCaseImpl(
+                new StubSimilarProductsClient(5, Duration.ofMillis(latency)), fanOut);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        fanOut.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public int handleRequests() throws InterruptedException, ExecutionException {
+        List<Future<Integer>> responses = new ArrayList<>(IN_FLIGHT);
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            String productId = String.valueOf(i);
+            responses.add(requestExecutor.submit(
+                    () -> getSimilarProductsUseCase.getSimilarProducts(productId).size()));
+        }
+        int products = 0;
+        for (Future<Integer> response : responses) {
+            products += response.get();
+        }
+        return products;
+    }
+}
@@ -0,0 +1,36 @@
+package com.inditex.similarproducts.loadtest;
+
+import com.inditex.similarproducts.SimilarProductsServiceApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the upstream stub and the service on free ports, drives the service and writes the report to
+// target/loadtest. Run with: mvn -Ploadtest test-compile exec:exec "-Dloadtest.args=rate=500 duration=60"
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+
+        try (UpstreamStub upstreamStub = new UpstreamStub(settings)) {
+            upstreamStub.start();
+
+            List<String> serviceArgs = new ArrayList<>();
+            serviceArgs.add("--server.port=0");
+            serviceArgs.add("--clients.similar_products.url=" + upstreamStub.url());
+            serviceArgs.addAll(settings.getServiceArgs());
+
+            try (ConfigurableApplicationContext service = SpringApplication.run(
+                    SimilarProductsServiceApplication.class, serviceArgs.toArray(String[]::new))) {
+                String serviceUrl = "http://localhost:" + service.getEnvironment().getProperty("local.server.port");
+
+                LoadTestReport report = new OpenModelDriver(settings, serviceUrl).run();
+                report.print(System.out);
+                report.write(Path.of("target", "loadtest"));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.inditex.similarproducts.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LoadTestSettings settings;
+    private final Histogram histogram;
+    private final Map<String, LongAdder> outcomes;
+    private final Duration elapsed;
+
+    public LoadTestReport(
+            LoadTestSettings settings, Histogram histogram, Map<String, LongAdder> outcomes, Duration elapsed) {
+        this.settings = settings;
+        this.histogram = histogram;
+        this.outcomes = new TreeMap<>(outcomes);
+        this.elapsed = elapsed;
+    }
+
+    public void print(PrintStream out) {
+        out.println("Load test " + settings.getLabel());
+        out.println("Settings: " + settings);
+        out.printf("Throughput: %.1f requests/s (%d requests in %.1f s)%n",
+                histogram.getTotalCount() / (elapsed.toMillis() / 1000.0), histogram.getTotalCount(),
+                elapsed.toMillis() / 1000.0);
+        outcomes.forEach((outcome, count) -> out.printf("Outcome %s: %d%n", outcome, count.sum()));
+        for (double percentile : PERCENTILES) {
+            out.printf("Latency p%s: %.2f ms%n", percentile, histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+        }
+        out.printf("Latency max: %.2f ms%n", histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    // The summary is meant to be compared across builds, the .hgrm file can be plotted with the HdrHistogram tools
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(
+                Files.newOutputStream(directory.resolve(settings.getLabel() + "-summary.txt")))) {
+            print(summary);
+        }
+        try (PrintStream distribution = new PrintStream(
+                Files.newOutputStream(directory.resolve(settings.getLabel() + ".hgrm")))) {
+            histogram.outputPercentileDistribution(distribution, NANOS_PER_MILLI);
+        }
+    }
+}
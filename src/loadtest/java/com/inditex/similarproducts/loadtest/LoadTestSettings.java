@@ -0,0 +1,72 @@
+package com.inditex.similarproducts.loadtest;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Settings are given as key=value arguments, arguments starting with -- are passed on to the service
+@Getter
+public class LoadTestSettings {
+
+    // Requests per second sent to the service, whatever its response times
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration requestTimeout;
+    // Number of distinct products requested, and number of similar products of each of them
+    private final int catalogSize;
+    private final int fanOut;
+    private final String similarIdsLatency;
+    private final String productLatency;
+    // Share of the upstream calls answered with a 500, between 0 and 1
+    private final double errorRate;
+    private final String label;
+    // Service launches per mode of the startup benchmark
+    private final int runs;
+    private final List<String> serviceArgs;
+
+    private LoadTestSettings(Map<String, String> settings, List<String> serviceArgs) {
+        this.rate = Integer.parseInt(settings.getOrDefault("rate", "200"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(settings.getOrDefault("warmup", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(settings.getOrDefault("duration", "60")));
+        this.requestTimeout = Duration.ofMillis(Long.parseLong(settings.getOrDefault("request_timeout", "10000")));
+        this.catalogSize = Integer.parseInt(settings.getOrDefault("catalog_size", "1000"));
+        this.fanOut = Integer.parseInt(settings.getOrDefault("fan_out", "5"));
+        this.similarIdsLatency = settings.getOrDefault("similarids_latency", "lognormal:20,0.5");
+        this.productLatency = settings.getOrDefault("product_latency", "lognormal:50,0.5");
+        this.errorRate = Double.parseDouble(settings.getOrDefault("error_rate", "0.01"));
+        this.label = settings.getOrDefault(
+                "label", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        this.runs = Integer.parseInt(settings.getOrDefault("runs", "5"));
+        this.serviceArgs = serviceArgs;
+    }
+
+    public static LoadTestSettings parse(String[] args) {
+        Map<String, String> settings = new HashMap<>();
+        List<String> serviceArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                serviceArgs.add(arg);
+            } else if (arg.contains("=")) {
+                settings.put(arg.substring(0, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            } else {
+                throw new IllegalArgumentException("Expected key=value or --service.property=value but got: " + arg);
+            }
+        }
+        return new LoadTestSettings(settings, serviceArgs);
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s warmup=" + warmup.toSeconds() + "s duration=" + duration.toSeconds() + "s"
+                + " catalog_size=" + catalogSize + " fan_out=" + fanOut
+                + " similarids_latency=" + similarIdsLatency + " product_latency=" + productLatency
+                + " error_rate=" + errorRate + " service_args=" + serviceArgs;
+    }
+}
@@ -0,0 +1,98 @@
+package com.inditex.similarproducts.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Sends requests at a fixed arrival rate, whatever the response times of the service. Latencies are measured
+// from the moment each request was due to be sent, so a stalled service cannot hide its own queueing delay
+public class OpenModelDriver {
+
+    private static final long MAX_TRACKED_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private final LoadTestSettings settings;
+    private final String serviceUrl;
+    private final Recorder recorder = new Recorder(MAX_TRACKED_LATENCY, 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    public OpenModelDriver(LoadTestSettings settings, String serviceUrl) {
+        this.settings = settings;
+        this.serviceUrl = serviceUrl;
+    }
+
+    public LoadTestReport run() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .build()) {
+            send(httpClient, settings.getWarmup(), false);
+            recorder.reset();
+            Duration elapsed = send(httpClient, settings.getDuration(), true);
+            Histogram histogram = recorder.getIntervalHistogram();
+            return new LoadTestReport(settings, histogram, outcomes, elapsed);
+        }
+    }
+
+    private Duration send(HttpClient httpClient, Duration period, boolean measured) {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+        long requests = period.toNanos() / intervalNanos;
+        ConcurrentLinkedQueue<CompletableFuture<?>> inFlight = new ConcurrentLinkedQueue<>();
+        long start = System.nanoTime();
+
+        for (long i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.add(sendOne(httpClient, intendedStart, measured));
+            inFlight.removeIf(CompletableFuture::isDone);
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private CompletableFuture<?> sendOne(HttpClient httpClient, long intendedStart, boolean measured) {
+        int productId = ThreadLocalRandom.current().nextInt(settings.getCatalogSize()) + 1;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(serviceUrl + "/product/" + productId + "/similar"))
+                .timeout(settings.getRequestTimeout())
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (!measured) {
+                        return null;
+                    }
+                    recorder.recordValue(Math.min(System.nanoTime() - intendedStart, MAX_TRACKED_LATENCY));
+                    outcomes.computeIfAbsent(outcome(response, error), key -> new LongAdder()).increment();
+                    return null;
+                });
+    }
+
+    private static String outcome(HttpResponse<?> response, Throwable error) {
+        if (error != null) {
+            return "error " + error.getClass().getSimpleName();
+        }
+        if (response.headers().firstValue("X-Partial-Result").isPresent()) {
+            return response.statusCode() + " partial";
+        }
+        return String.valueOf(response.statusCode());
+    }
+}
@@ -0,0 +1,129 @@
+package com.inditex.similarproducts.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Launches the service as a new process, as the autoscaler does, and measures the time until its first successful
+// similar products response, for the plain jar and for the fast startup build. Both are built with
+// mvn -Pfaststartup package, then run with:
+// mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.inditex.similarproducts.loadtest.StartupBenchmark
+public class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final Path FAST_STARTUP = TARGET.resolve("faststartup");
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        Path jar = findJar(TARGET);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("plain", List.of("-jar", jar.toString()));
+        modes.put("faststartup", List.of(
+                "-XX:SharedArchiveFile=" + FAST_STARTUP.resolve("application.jsa"),
+                "-Dspring.aot.enabled=true",
+                "-jar", FAST_STARTUP.resolve(jar.getFileName()).toString()));
+
+        Map<String, List<Duration>> results = new LinkedHashMap<>();
+        try (UpstreamStub upstreamStub = new UpstreamStub(settings)) {
+            upstreamStub.start();
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+            for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+                List<Duration> times = new ArrayList<>();
+                for (int run = 1; run <= settings.getRuns(); run++) {
+                    times.add(timeToFirstResponse(mode.getValue(), settings, upstreamStub.url(), httpClient));
+                    System.out.printf("%s run %d: %d ms%n", mode.getKey(), run, times.getLast().toMillis());
+                }
+                results.put(mode.getKey(), times);
+            }
+        }
+
+        Path directory = TARGET.resolve("loadtest");
+        Files.createDirectories(directory);
+        try (PrintStream summary = new PrintStream(
+                Files.newOutputStream(directory.resolve(settings.getLabel() + "-startup.txt")))) {
+            print(results, System.out);
+            print(results, summary);
+        }
+    }
+
+    private static Duration timeToFirstResponse(
+            List<String> launch, LoadTestSettings settings, String upstreamUrl, HttpClient httpClient)
+            throws IOException, InterruptedException, TimeoutException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        // The same JVM that runs the benchmark, a CDS archive is only used by the JVM build that created it
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(launch);
+        command.add("--server.port=" + port);
+        command.add("--clients.similar_products.url=" + upstreamUrl);
+        command.addAll(settings.getServiceArgs());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/product/1/similar"))
+                .timeout(settings.getRequestTimeout())
+                .build();
+
+        long start = System.nanoTime();
+        Process service = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+                if (!service.isAlive()) {
+                    throw new IllegalStateException("Service exited with code " + service.exitValue());
+                }
+                try {
+                    if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return Duration.ofNanos(System.nanoTime() - start);
+                    }
+                } catch (ConnectException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL);
+            }
+            throw new TimeoutException("No successful response within " + STARTUP_TIMEOUT.toSeconds() + " s");
+        } finally {
+            service.destroy();
+            service.waitFor(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void print(Map<String, List<Duration>> results, PrintStream out) {
+        out.println("Time to first successful response");
+        results.forEach((mode, times) -> {
+            List<Long> millis = times.stream().map(Duration::toMillis).sorted().toList();
+            out.printf("%s: min %d ms, median %d ms, max %d ms (%d runs)%n",
+                    mode, millis.getFirst(), millis.get(millis.size() / 2), millis.getLast(), millis.size());
+        });
+    }
+
+    private static Path findJar(Path directory) throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + directory + ", run mvn package"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.inditex.similarproducts.loadtest;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.LogNormal;
+import com.github.tomakehurst.wiremock.http.UniformDistribution;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+// Local stand-in for the similarids and product endpoints of the external service
+public class UpstreamStub implements AutoCloseable {
+
+    private final WireMockServer wireMockServer;
+
+    public UpstreamStub(LoadTestSettings settings) {
+        wireMockServer = new WireMockServer(options()
+                .dynamicPort()
+                .containerThreads(200)
+                .jettyAcceptors(4)
+                .disableRequestJournal()
+                .extensions(new ErrorRateTransformer(settings.getErrorRate())));
+
+        // The similar products are picked with a fixed seed, so every run requests the same products
+        Random random = new Random(42);
+        for (int productId = 1; productId <= settings.getCatalogSize(); productId++) {
+            String similarIds = IntStream.generate(() -> random.nextInt(settings.getCatalogSize()) + 1)
+                    .limit(settings.getFanOut())
+                    .mapToObj(id -> "\"" + id + "\"")
+                    .collect(Collectors.joining(",", "[", "]"));
+            wireMockServer.stubFor(get(urlPathEqualTo("/product/" + productId + "/similarids"))
+                    .willReturn(withLatency(aResponse(), settings.getSimilarIdsLatency())
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(similarIds)));
+        }
+        wireMockServer.stubFor(get(urlPathMatching("/product/[^/]+"))
+                .willReturn(withLatency(aResponse(), settings.getProductLatency())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                {"id":"{{request.pathSegments.[1]}}","name":"Product {{request.pathSegments.[1]}}",\
+                                "price":19.99,"availability":true}""")
+                        .withTransformers("response-template")));
+    }
+
+    public void start() {
+        wireMockServer.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + wireMockServer.port();
+    }
+
+    @Override
+    public void close() {
+        wireMockServer.stop();
+    }
+
+    // Latencies are given as fixed:<millis>, uniform:<min millis>,<max millis> or lognormal:<median millis>,<sigma>
+    private static ResponseDefinitionBuilder withLatency(ResponseDefinitionBuilder response, String latency) {
+        String[] distribution = latency.split(":");
+        String[] values = distribution[1].split(",");
+        return switch (distribution[0]) {
+            case "fixed" -> response.withFixedDelay(Integer.parseInt(values[0]));
+            case "uniform" -> response.withRandomDelay(
+                    new UniformDistribution(Integer.parseInt(values[0]), Integer.parseInt(values[1])));
+            case "lognormal" -> response.withRandomDelay(
+                    new LogNormal(Double.parseDouble(values[0]), Double.parseDouble(values[1])));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + latency);
+        };
+    }
+
+    private static class ErrorRateTransformer implements ResponseDefinitionTransformerV2 {
+
+        private final double errorRate;
+
+        ErrorRateTransformer(double errorRate) {
+            this.errorRate = errorRate;
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            if (ThreadLocalRandom.current().nextDouble() >= errorRate) {
+                return serveEvent.getResponseDefinition();
+            }
+            return ResponseDefinitionBuilder.like(serveEvent.getResponseDefinition())
+                    .but()
+                    .withStatus(500)
+                    .withBody("")
+                    .build();
+        }
+
+        @Override
+        public String getName() {
+            return "error-rate";
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+public class ConcurrentFanOut implements FanOut, AutoCloseable {
+
+    private final ExecutorService executor;
+    private final int maxConcurrency;
+
+    @Override
+    public <T, R> List<R> map(List<T> items, Function<T, R> call, Deadline deadline) {
+        // The cap is per call, so one request with many similar products cannot starve the others
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+
+        try {
+            for (T item : items) {
+                if (!acquire(permits, deadline)) {
+                    break;
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        return deadline.run(() -> call.apply(item));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<R> results = new ArrayList<>(items.size());
+            for (Future<R> future : futures) {
+                results.add(await(future, deadline));
+            }
+            while (results.size() < items.size()) {
+                results.add(null);
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new IllegalStateException("Interrupted while waiting for concurrent calls", e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public <T, R> void forEachCompleted(List<T> items, Function<T, R> call, Consumer<R> onResult, Deadline deadline) {
+        // Every call is submitted up front and waits for its permit on its own thread, so the calling thread is
+        // free to hand over results while later calls are still queued behind the cap
+        Semaphore permits = new Semaphore(maxConcurrency);
+        CompletionService<R> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+
+        try {
+            for (T item : items) {
+                futures.add(completionService.submit(() -> {
+                    if (!acquire(permits, deadline)) {
+                        return null;
+                    }
+                    try {
+                        return deadline.run(() -> call.apply(item));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            for (int i = 0; i < futures.size(); i++) {
+                Future<R> completed = poll(completionService, deadline);
+                if (completed == null) {
+                    // The deadline expired, the calls still running are abandoned
+                    cancelAll(futures);
+                    return;
+                }
+                R result = completed.get();
+                if (result != null) {
+                    onResult.accept(result);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new IllegalStateException("Interrupted while waiting for concurrent calls", e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private static boolean acquire(Semaphore permits, Deadline deadline) throws InterruptedException {
+        if (!deadline.isBounded()) {
+            permits.acquire();
+            return true;
+        }
+        return permits.tryAcquire(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static <R> R await(Future<R> future, Deadline deadline) throws InterruptedException, ExecutionException {
+        if (!deadline.isBounded()) {
+            return future.get();
+        }
+        try {
+            return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // The call outlived the deadline, it is abandoned and its slot stays empty
+            future.cancel(true);
+            return null;
+        }
+    }
+
+    private static <R> Future<R> poll(CompletionService<R> completionService, Deadline deadline)
+            throws InterruptedException {
+        if (!deadline.isBounded()) {
+            return completionService.take();
+        }
+        return completionService.poll(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private static void cancelAll(List<? extends Future<?>> futures) {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
@@ -0,0 +1,22 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public interface FanOut {
+
+    // Results are returned in the same order as the given items. Calls that have not completed when the
+    // deadline expires are abandoned and their result is null
+    <T, R> List<R> map(List<T> items, Function<T, R> call, Deadline deadline);
+
+    default <T, R> List<R> map(List<T> items, Function<T, R> call) {
+        return map(items, call, Deadline.none());
+    }
+
+    // Results are handed to the consumer on the calling thread as soon as each call completes, in completion
+    // order. Calls that have not completed when the deadline expires are abandoned and never handed over
+    <T, R> void forEachCompleted(List<T> items, Function<T, R> call, Consumer<R> onResult, Deadline deadline);
+}
@@ -0,0 +1,101 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsTimeoutException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsBatch;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsBatchUseCase;
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class GetSimilarProductsBatchUseCaseImpl implements GetSimilarProductsBatchUseCase {
+
+    private final SimilarProductsClient similarProductsClient;
+    private final FanOut fanOut;
+
+    public SimilarProductsBatch getSimilarProducts(List<String> productIds, Deadline deadline) {
+        List<String> distinctProductIds = productIds.stream().distinct().toList();
+        Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+
+        List<List<String>> similarProductIds = fanOut.map(
+                distinctProductIds, productId -> getSimilarProductIds(productId, failures), deadline);
+
+        // The details of a product shared by several requested products are only fetched once
+        List<String> distinctSimilarProductIds = similarProductIds.stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .distinct()
+                .toList();
+        List<Optional<Product>> productDetails =
+                fanOut.map(distinctSimilarProductIds, this::getProductDetails, deadline);
+
+        Map<String, Optional<Product>> productDetailsById = new HashMap<>();
+        for (int i = 0; i < distinctSimilarProductIds.size(); i++) {
+            productDetailsById.put(distinctSimilarProductIds.get(i), productDetails.get(i));
+        }
+
+        Map<String, SimilarProducts> similarProducts = new LinkedHashMap<>();
+        Map<String, RuntimeException> orderedFailures = new LinkedHashMap<>();
+        for (int i = 0; i < distinctProductIds.size(); i++) {
+            String productId = distinctProductIds.get(i);
+            List<String> ids = similarProductIds.get(i);
+            if (ids == null) {
+                // Lookups abandoned at the deadline have no recorded failure
+                orderedFailures.put(productId, failures.getOrDefault(productId, new SimilarProductsFetchingException(
+                        "Failed to fetch similar products for productId: " + productId)));
+            } else {
+                similarProducts.put(productId, toSimilarProducts(ids, productDetailsById));
+            }
+        }
+        return new SimilarProductsBatch(similarProducts, orderedFailures);
+    }
+
+    private List<String> getSimilarProductIds(String productId, Map<String, RuntimeException> failures) {
+        try {
+            List<String> similarProductIds = similarProductsClient.getSimilarProductIds(productId);
+            if (similarProductIds.isEmpty()) {
+                failures.put(productId, new SimilarProductsNotFoundException(
+                        "No similar products found for productId: " + productId));
+                return null;
+            }
+            return similarProductIds;
+        } catch (Exception e) {
+            failures.put(productId, new SimilarProductsFetchingException(
+                    "Failed to fetch similar products for productId: " + productId));
+            return null;
+        }
+    }
+
+    // A lookup that ran out of time is reported like one abandoned at the deadline: left out, with a partial result
+    private Optional<Product> getProductDetails(String productId) {
+        try {
+            return similarProductsClient.getProductDetails(productId);
+        } catch (SimilarProductsTimeoutException e) {
+            return null;
+        }
+    }
+
+    private static SimilarProducts toSimilarProducts(
+            List<String> similarProductIds, Map<String, Optional<Product>> productDetailsById) {
+        List<Optional<Product>> productDetails = similarProductIds.stream()
+                .map(productDetailsById::get)
+                .toList();
+        List<Product> products = productDetails.stream()
+                .filter(Objects::nonNull)
+                .flatMap(Optional::stream)
+                .toList();
+        return new SimilarProducts(products, productDetails.contains(null));
+    }
+}
@@ -1,13 +1,20 @@
 package com.inditex.similarproducts.application.getsimilarproducts;
 
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Deadline;
 import com.inditex.similarproducts.domain.models.Product;
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsTimeoutException;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsStream;
 import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
 import lombok.RequiredArgsConstructor;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -15,20 +22,33 @@ import java.util.Optional;
 public class GetSimilarProductsUseCaseImpl implements GetSimilarProductsUseCase {
 
     private final SimilarProductsClient similarProductsClient;
+    private final FanOut fanOut;
 
     public List<Product> getSimilarProducts(String productId) {
+        return getSimilarProducts(productId, Deadline.none()).getProducts();
+    }
+
+    public SimilarProducts getSimilarProducts(String productId, Deadline deadline) {
         try {
-            List<String> similarProductIds = similarProductsClient.getSimilarProductIds(productId);
+            List<String> similarProductIds = getSimilarProductIds(productId, deadline);
+
+            // Each distinct product is fetched once, even if it appears several times in the list
+            List<String> distinctProductIds = similarProductIds.stream().distinct().toList();
+            List<Optional<Product>> productDetails =
+                    fanOut.map(distinctProductIds, this::getProductDetails, deadline);
 
-            if (similarProductIds.isEmpty()) {
-                throw new SimilarProductsNotFoundException("No similar products found for productId: " + productId);
+            Map<String, Optional<Product>> productDetailsById = new HashMap<>();
+            for (int i = 0; i < distinctProductIds.size(); i++) {
+                productDetailsById.put(distinctProductIds.get(i), productDetails.get(i));
             }
 
-            return similarProductIds.stream()
-                    .map(similarProductsClient::getProductDetails)
-                    .flatMap(Optional::stream)
+            // Lookups abandoned at the deadline have no entry
+            List<Product> products = similarProductIds.stream()
+                    .map(productDetailsById::get)
                     .filter(Objects::nonNull)
+                    .flatMap(Optional::stream)
                     .toList();
+            return new SimilarProducts(products, productDetails.contains(null));
         } catch (SimilarProductsNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -37,4 +57,45 @@ public class GetSimilarProductsUseCaseImpl implements GetSimilarProductsUseCase
         }
     }
 
-}
\ No newline at end of file
+    public SimilarProductsStream streamSimilarProducts(String productId, Deadline deadline) {
+        List<String> similarProductIds;
+        try {
+            similarProductIds = getSimilarProductIds(productId, deadline);
+        } catch (SimilarProductsNotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SimilarProductsFetchingException(
+                    "Failed to fetch similar products for productId: " + productId);
+        }
+
+        Map<String, Integer> occurrences = new HashMap<>();
+        similarProductIds.forEach(id -> occurrences.merge(id, 1, Integer::sum));
+        List<String> distinctProductIds = similarProductIds.stream().distinct().toList();
+
+        // A product that appears several times in the list is fetched once and handed over once per occurrence
+        return onProduct -> fanOut.forEachCompleted(
+                distinctProductIds,
+                id -> Objects.requireNonNullElse(getProductDetails(id), Optional.<Product>empty())
+                        .map(product -> Collections.nCopies(occurrences.get(id), product)),
+                products -> products.ifPresent(copies -> copies.forEach(onProduct)),
+                deadline);
+    }
+
+    private List<String> getSimilarProductIds(String productId, Deadline deadline) {
+        List<String> similarProductIds = deadline.run(() -> similarProductsClient.getSimilarProductIds(productId));
+
+        if (similarProductIds.isEmpty()) {
+            throw new SimilarProductsNotFoundException("No similar products found for productId: " + productId);
+        }
+        return similarProductIds;
+    }
+
+    // A lookup that ran out of time is reported like one abandoned at the deadline: left out, with a partial result
+    private Optional<Product> getProductDetails(String productId) {
+        try {
+            return similarProductsClient.getProductDetails(productId);
+        } catch (SimilarProductsTimeoutException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.client.ReactiveSimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.usecases.ReactiveGetSimilarProductsUseCase;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RequiredArgsConstructor
+public class ReactiveGetSimilarProductsUseCaseImpl implements ReactiveGetSimilarProductsUseCase {
+
+    private final ReactiveSimilarProductsClient similarProductsClient;
+    private final int maxConcurrency;
+
+    @Override
+    public Flux<Product> getSimilarProducts(String productId) {
+        return getSimilarProducts(productId, Deadline.none())
+                .flatMapIterable(SimilarProducts::getProducts);
+    }
+
+    @Override
+    public Mono<SimilarProducts> getSimilarProducts(String productId, Deadline deadline) {
+        return Mono.defer(() -> {
+            AtomicBoolean expired = new AtomicBoolean();
+            return getSimilarProducts(productId, deadline, expired, true)
+                    .collectList()
+                    .map(products -> new SimilarProducts(products, expired.get()));
+        });
+    }
+
+    @Override
+    public Flux<Product> streamSimilarProducts(String productId, Deadline deadline) {
+        return Flux.defer(() -> getSimilarProducts(productId, deadline, new AtomicBoolean(), false));
+    }
+
+    private Flux<Product> getSimilarProducts(String productId, Deadline deadline, AtomicBoolean expired,
+                                             boolean inSimilarProductIdsOrder) {
+        Mono<List<String>> similarProductIds = similarProductsClient.getSimilarProductIds(productId).collectList();
+        if (deadline.isBounded()) {
+            // Like in the blocking stack, running out of time before the similar product IDs arrive is a failure
+            similarProductIds = similarProductIds.timeout(deadline.remaining());
+        }
+
+        return similarProductIds
+                .flatMapMany(ids -> {
+                    if (ids.isEmpty()) {
+                        return Flux.error(new SimilarProductsNotFoundException(
+                                "No similar products found for productId: " + productId));
+                    }
+                    return withinDeadline(getProductDetails(ids, inSimilarProductIdsOrder), deadline, expired);
+                })
+                .onErrorMap(e -> !(e instanceof SimilarProductsNotFoundException), e ->
+                        new SimilarProductsFetchingException(
+                                "Failed to fetch similar products for productId: " + productId, e));
+    }
+
+    private Flux<Product> getProductDetails(List<String> similarProductIds, boolean inSimilarProductIdsOrder) {
+        // Each distinct product is fetched once, even if it appears several times in the list
+        Map<String, Mono<Product>> productDetailsById = new HashMap<>();
+        similarProductIds.forEach(id ->
+                productDetailsById.computeIfAbsent(id, key -> similarProductsClient.getProductDetails(key).cache()));
+
+        Flux<String> ids = Flux.fromIterable(similarProductIds);
+        return inSimilarProductIdsOrder
+                ? ids.flatMapSequential(productDetailsById::get, maxConcurrency)
+                : ids.flatMap(productDetailsById::get, maxConcurrency);
+    }
+
+    // Completes with the products retrieved so far once the deadline expires, cancelling the pending lookups
+    private Flux<Product> withinDeadline(Flux<Product> products, Deadline deadline, AtomicBoolean expired) {
+        if (!deadline.isBounded()) {
+            return products;
+        }
+        return products.takeUntilOther(Mono.delay(deadline.remaining()).doOnNext(tick -> expired.set(true)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class SequentialFanOut implements FanOut {
+
+    @Override
+    public <T, R> List<R> map(List<T> items, Function<T, R> call, Deadline deadline) {
+        List<R> results = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (deadline.isExpired()) {
+                results.add(null);
+                continue;
+            }
+            R result = deadline.run(() -> call.apply(item));
+            results.add(deadline.isExpired() ? null : result);
+        }
+        return results;
+    }
+
+    @Override
+    public <T, R> void forEachCompleted(List<T> items, Function<T, R> call, Consumer<R> onResult, Deadline deadline) {
+        for (T item : items) {
+            // An interrupted caller is no longer interested in the remaining results
+            if (deadline.isExpired() || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            R result = deadline.run(() -> call.apply(item));
+            if (!deadline.isExpired()) {
+                onResult.accept(result);
+            }
+        }
+    }
+}
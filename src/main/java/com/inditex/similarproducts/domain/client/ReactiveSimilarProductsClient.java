@@ -0,0 +1,12 @@
+package com.inditex.similarproducts.domain.client;
+
+import com.inditex.similarproducts.domain.models.Product;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSimilarProductsClient {
+
+    Flux<String> getSimilarProductIds(String productId);
+
+    Mono<Product> getProductDetails(String productId);
+}
\ No newline at end of file
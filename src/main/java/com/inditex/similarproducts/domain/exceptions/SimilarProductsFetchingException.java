@@ -4,4 +4,8 @@ public class SimilarProductsFetchingException extends RuntimeException {
     public SimilarProductsFetchingException(String message) {
         super(message);
     }
+
+    public SimilarProductsFetchingException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
\ No newline at end of file
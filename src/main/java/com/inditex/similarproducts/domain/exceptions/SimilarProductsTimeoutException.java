@@ -0,0 +1,7 @@
+package com.inditex.similarproducts.domain.exceptions;
+
+public class SimilarProductsTimeoutException extends SimilarProductsFetchingException {
+    public SimilarProductsTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.inditex.similarproducts.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SimilarProducts {
+    private List<Product> products;
+    // True when the deadline expired before every product detail was resolved
+    private boolean partial;
+}
\ No newline at end of file
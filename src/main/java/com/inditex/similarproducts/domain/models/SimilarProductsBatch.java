@@ -0,0 +1,15 @@
+package com.inditex.similarproducts.domain.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class SimilarProductsBatch {
+    // Keyed by product ID, in the order the IDs were requested
+    private Map<String, SimilarProducts> similarProducts;
+    // Product IDs whose similar products could not be resolved, with the reason
+    private Map<String, RuntimeException> failures;
+}
@@ -0,0 +1,9 @@
+package com.inditex.similarproducts.domain.models;
+
+import java.util.function.Consumer;
+
+@FunctionalInterface
+public interface SimilarProductsStream {
+    // Hands over each similar product as soon as its details are resolved, in completion order
+    void forEach(Consumer<Product> onProduct);
+}
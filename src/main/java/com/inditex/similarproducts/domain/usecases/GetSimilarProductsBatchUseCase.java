@@ -0,0 +1,10 @@
+package com.inditex.similarproducts.domain.usecases;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.SimilarProductsBatch;
+
+import java.util.List;
+
+public interface GetSimilarProductsBatchUseCase {
+    SimilarProductsBatch getSimilarProducts(List<String> productIds, Deadline deadline);
+}
@@ -1,9 +1,18 @@
 package com.inditex.similarproducts.domain.usecases;
 
+import com.inditex.similarproducts.domain.models.Deadline;
 import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsStream;
 
 import java.util.List;
 
 public interface GetSimilarProductsUseCase {
     List<Product> getSimilarProducts(String productId);
+
+    SimilarProducts getSimilarProducts(String productId, Deadline deadline);
+
+    // The similar product IDs are resolved before returning, so not found and fetching errors are raised
+    // before the first product is handed over
+    SimilarProductsStream streamSimilarProducts(String productId, Deadline deadline);
 }
\ No newline at end of file
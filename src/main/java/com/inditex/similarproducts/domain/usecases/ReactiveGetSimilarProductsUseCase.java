@@ -0,0 +1,16 @@
+package com.inditex.similarproducts.domain.usecases;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveGetSimilarProductsUseCase {
+    Flux<Product> getSimilarProducts(String productId);
+
+    Mono<SimilarProducts> getSimilarProducts(String productId, Deadline deadline);
+
+    // Products are emitted as their details are retrieved, and the stream completes when the deadline expires
+    Flux<Product> streamSimilarProducts(String productId, Deadline deadline);
+}
@@ -0,0 +1,215 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Adapts the concurrent calls each bulkhead admits to the latency the upstream answers with, in the style of TCP
+// Vegas: the lowest round trip seen is taken as the latency without queueing, and the share of a round trip above
+// it tells how many calls are queued upstream. The limit grows while that queue is short and shrinks when it grows
+// or calls fail, so overshooting the upstream capacity is not paid for with its queueing latency
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.meterRegistry = meterRegistry;
+        this.enabled = true;
+    }
+
+    private AdaptiveConcurrencyLimiter() {
+        this.minLimit = 0;
+        this.maxLimit = 0;
+        this.meterRegistry = null;
+        this.enabled = false;
+    }
+
+    public static AdaptiveConcurrencyLimiter disabled() {
+        return new AdaptiveConcurrencyLimiter();
+    }
+
+    // Starts from the limit the bulkhead is configured with
+    public Limit limitFor(String endpoint, Bulkhead bulkhead) {
+        return enabled ? new Limit(endpoint, bulkhead, minLimit, maxLimit, meterRegistry) : new Limit(bulkhead);
+    }
+
+    public static class Limit {
+
+        // The baseline is learned again after this many limits worth of calls, so it follows an upstream that got
+        // slower for good instead of shrinking the limit forever
+        private static final int PROBE_MULTIPLIER = 30;
+
+        private final Bulkhead bulkhead;
+        private final int minLimit;
+        private final int maxLimit;
+        private final Timer queueingTime;
+        private final Counter rejectedCalls;
+        private final boolean adaptive;
+        // Admission is counted here rather than by resizing the bulkhead: shrinking a semaphore bulkhead waits for
+        // the permits it takes away, which never come back while the calls holding them wait on that resize
+        private final ReentrantLock admission = new ReentrantLock();
+        private final Condition released = admission.newCondition();
+        private int inFlight;
+        private volatile int limit;
+        private double estimate;
+        private long noLoadRoundTrip = Long.MAX_VALUE;
+        private long samplesUntilProbe;
+
+        Limit(String endpoint, Bulkhead bulkhead, int minLimit, int maxLimit, MeterRegistry meterRegistry) {
+            this.bulkhead = bulkhead;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.adaptive = true;
+            this.estimate = Math.clamp(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(), minLimit, maxLimit);
+            this.limit = (int) estimate;
+            this.samplesUntilProbe = nextProbe();
+            this.queueingTime = Timer.builder("upstream.concurrency.queueing")
+                    .description("Time upstream calls waited for the concurrency limit to admit them")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry);
+            // Calls rejected by the limit never reach the bulkhead, so they are counted with its own rejections
+            this.rejectedCalls = Counter.builder("resilience4j.bulkhead.rejected.calls")
+                    .description("Calls rejected because the bulkhead was full")
+                    .tag("name", bulkhead.getName())
+                    .register(meterRegistry);
+            if (meterRegistry.find("upstream.concurrency.limit").tag("endpoint", endpoint).gauge() == null) {
+                Gauge.builder("upstream.concurrency.limit", this, Limit::getLimit)
+                        .description("Concurrent upstream calls currently admitted")
+                        .tag("endpoint", endpoint)
+                        .register(meterRegistry);
+            }
+            // The bulkhead only caps the limit from now on, and keeps publishing the calls in flight. Raising it
+            // before any call holds a permit never waits
+            bulkhead.changeConfig(BulkheadConfig.from(bulkhead.getBulkheadConfig())
+                    .maxConcurrentCalls(maxLimit)
+                    .build());
+        }
+
+        Limit(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+            this.minLimit = 0;
+            this.maxLimit = 0;
+            this.adaptive = false;
+            this.queueingTime = null;
+            this.rejectedCalls = null;
+        }
+
+        public int getLimit() {
+            return adaptive ? limit : bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+        }
+
+        // Calls over the limit wait up to the bulkhead's max wait duration and are then rejected
+        public <T> CheckedSupplier<T> decorate(CheckedSupplier<T> call) {
+            if (!adaptive) {
+                return Bulkhead.decorateCheckedSupplier(bulkhead, call);
+            }
+            return () -> {
+                long queuedAt = System.nanoTime();
+                int admittedWith = acquire();
+                long startedAt = System.nanoTime();
+                queueingTime.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                boolean dropped = true;
+                try {
+                    T result = bulkhead.executeCheckedSupplier(call);
+                    dropped = false;
+                    return result;
+                } catch (HttpClientErrorException clientError) {
+                    // An answer such as a 404 still measures the round trip
+                    dropped = false;
+                    throw clientError;
+                } finally {
+                    release();
+                    // Recorded once the call no longer counts as in flight, so a lower limit never waits on it
+                    onSample(System.nanoTime() - startedAt, dropped, admittedWith);
+                }
+            };
+        }
+
+        void onSample(long roundTrip, boolean dropped, int inFlight) {
+            boolean raised;
+            synchronized (this) {
+                double step = Math.max(1, Math.log10(estimate));
+                double newEstimate = estimate;
+                if (dropped) {
+                    newEstimate = estimate - step;
+                } else {
+                    if (--samplesUntilProbe <= 0) {
+                        noLoadRoundTrip = roundTrip;
+                        samplesUntilProbe = nextProbe();
+                    }
+                    noLoadRoundTrip = Math.min(noLoadRoundTrip, roundTrip);
+
+                    double queued = Math.ceil(estimate * (1 - (double) noLoadRoundTrip / Math.max(roundTrip, 1)));
+                    // A limit that is not being used says nothing about whether a higher one would be
+                    boolean limitInUse = inFlight * 2 >= estimate;
+                    if (queued <= step && limitInUse) {
+                        newEstimate = estimate + 6 * step;
+                    } else if (queued < 3 * step && limitInUse) {
+                        newEstimate = estimate + step;
+                    } else if (queued > 6 * step) {
+                        newEstimate = estimate - step;
+                    }
+                }
+                estimate = Math.clamp(newEstimate, minLimit, maxLimit);
+                raised = (int) estimate > limit;
+                // A lower limit takes effect as calls complete, calls already admitted are never waited for
+                limit = (int) estimate;
+            }
+            if (raised) {
+                admission.lock();
+                try {
+                    released.signalAll();
+                } finally {
+                    admission.unlock();
+                }
+            }
+        }
+
+        // Returns the calls in flight once this one is admitted
+        private int acquire() throws InterruptedException {
+            admission.lock();
+            try {
+                long remaining = bulkhead.getBulkheadConfig().getMaxWaitDuration().toNanos();
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        rejectedCalls.increment();
+                        throw BulkheadFullException.createBulkheadFullException(bulkhead);
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                return ++inFlight;
+            } finally {
+                admission.unlock();
+            }
+        }
+
+        private void release() {
+            admission.lock();
+            try {
+                inFlight--;
+                released.signal();
+            } finally {
+                admission.unlock();
+            }
+        }
+
+        private long nextProbe() {
+            return (long) (PROBE_MULTIPLIER * estimate);
+        }
+    }
+}
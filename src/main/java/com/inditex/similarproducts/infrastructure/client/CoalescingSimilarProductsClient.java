@@ -0,0 +1,108 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsTimeoutException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+public class CoalescingSimilarProductsClient implements SimilarProductsClient, AutoCloseable {
+
+    private final SimilarProductsClient delegate;
+    private final ConcurrentMap<String, CompletableFuture<List<String>>> similarProductIdsInFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CompletableFuture<Optional<Product>>> productDetailsInFlight = new ConcurrentHashMap<>();
+    private final Counter coalescedSimilarProductIdsCalls;
+    private final Counter coalescedProductDetailsCalls;
+
+    public CoalescingSimilarProductsClient(SimilarProductsClient delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.coalescedSimilarProductIdsCalls = coalescedCallsCounter(meterRegistry, "similarids");
+        this.coalescedProductDetailsCalls = coalescedCallsCounter(meterRegistry, "product");
+    }
+
+    @Override
+    public List<String> getSimilarProductIds(String productId) {
+        return singleFlight(similarProductIdsInFlight, productId, delegate::getSimilarProductIds,
+                coalescedSimilarProductIdsCalls);
+    }
+
+    @Override
+    public Optional<Product> getProductDetails(String productId) {
+        return singleFlight(productDetailsInFlight, productId, delegate::getProductDetails,
+                coalescedProductDetailsCalls);
+    }
+
+    // Closes the decorators below, some of them own threads
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static <T> T singleFlight(
+            ConcurrentMap<String, CompletableFuture<T>> inFlight,
+            String productId,
+            Function<String, T> call,
+            Counter coalescedCalls) {
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> existingFlight = inFlight.putIfAbsent(productId, flight);
+
+        if (existingFlight != null) {
+            // Another caller is already fetching this product, share its result
+            coalescedCalls.increment();
+            return await(existingFlight, productId);
+        }
+
+        try {
+            T result = call.apply(productId);
+            flight.complete(result);
+            return result;
+        } catch (Throwable throwable) {
+            flight.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            inFlight.remove(productId, flight);
+        }
+    }
+
+    // Followers wait no longer than their own deadline, the leader may be serving a caller with a longer one.
+    // Running out of time is an error, never an empty result that would read as a product without similar ones
+    private static <T> T await(CompletableFuture<T> flight, String productId) {
+        try {
+            return flight.get(Deadline.current().remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SimilarProductsTimeoutException("Timed out waiting for productId: " + productId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SimilarProductsFetchingException("Interrupted while waiting for productId: " + productId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Counter coalescedCallsCounter(MeterRegistry meterRegistry, String endpoint) {
+        return Counter.builder("upstream.calls.coalesced")
+                .description("Upstream calls served by sharing the result of an identical call already in flight")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,164 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HedgingSimilarProductsClient implements SimilarProductsClient, AutoCloseable {
+
+    private final SimilarProductsClient delegate;
+    private final Duration hedgeDelay;
+    private final HedgeBudget hedgeBudget;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter requests;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+    private final Counter throttledHedges;
+
+    public HedgingSimilarProductsClient(
+            SimilarProductsClient delegate, Duration hedgeDelay, int maxHedgePercent, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.hedgeDelay = hedgeDelay;
+        this.hedgeBudget = new HedgeBudget(maxHedgePercent);
+        this.requests = hedgingCounter(meterRegistry, "upstream.hedging.requests",
+                "Product detail calls eligible for hedging");
+        this.hedges = hedgingCounter(meterRegistry, "upstream.hedging.hedges",
+                "Hedge calls sent because the first call did not answer within the hedge delay");
+        this.hedgeWins = hedgingCounter(meterRegistry, "upstream.hedging.wins",
+                "Hedge calls that answered before the first call");
+        this.throttledHedges = hedgingCounter(meterRegistry, "upstream.hedging.throttled",
+                "Hedge calls not sent because the hedge budget was exhausted");
+    }
+
+    @Override
+    public List<String> getSimilarProductIds(String productId) {
+        return delegate.getSimilarProductIds(productId);
+    }
+
+    @Override
+    public Optional<Product> getProductDetails(String productId) {
+        requests.increment();
+        hedgeBudget.onRequest();
+
+        CompletableFuture<Optional<Product>> primary = callAsync(productId);
+        try {
+            return primary.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (!hedgeBudget.tryWithdraw()) {
+                throttledHedges.increment();
+                return await(primary);
+            }
+            hedges.increment();
+            return firstPresent(primary, callAsync(productId));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    private CompletableFuture<Optional<Product>> callAsync(String productId) {
+        Deadline deadline = Deadline.current();
+        return CompletableFuture.supplyAsync(
+                () -> deadline.run(() -> delegate.getProductDetails(productId)), executor);
+    }
+
+    private Optional<Product> firstPresent(
+            CompletableFuture<Optional<Product>> primary, CompletableFuture<Optional<Product>> hedge) {
+        // The slower call is left to finish in the background, its response is ignored
+        CompletableFuture<Optional<Product>> winner = new CompletableFuture<>();
+        AtomicBoolean won = new AtomicBoolean();
+        AtomicInteger pending = new AtomicInteger(2);
+
+        primary.whenComplete((product, error) -> offer(winner, product, won, pending, () -> { }));
+        hedge.whenComplete((product, error) -> offer(winner, product, won, pending, hedgeWins::increment));
+        return await(winner);
+    }
+
+    // A found product is offered before its call stops counting as pending, so the last call to answer can only
+    // report the product as missing when neither call found it
+    private static void offer(CompletableFuture<Optional<Product>> winner, Optional<Product> product,
+                              AtomicBoolean won, AtomicInteger pending, Runnable onWin) {
+        if (product != null && product.isPresent() && won.compareAndSet(false, true)) {
+            // Counted before the caller is released
+            onWin.run();
+            winner.complete(product);
+        }
+        if (pending.decrementAndGet() == 0) {
+            winner.complete(Optional.empty());
+        }
+    }
+
+    // Bounded by the latency budget of the request, a product still loading when it runs out is given up on
+    private static Optional<Product> await(CompletableFuture<Optional<Product>> product) {
+        try {
+            return product.get(Deadline.current().remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        executor.close();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Counter hedgingCounter(MeterRegistry meterRegistry, String name, String description) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("endpoint", "product")
+                .register(meterRegistry);
+    }
+
+    // Every request earns a fraction of a hedge, so hedges never exceed the configured percentage of the traffic.
+    // The balance is capped so an idle period cannot be followed by a burst of hedges
+    static class HedgeBudget {
+
+        private static final long TOKEN = 100;
+        private static final long MAX_BALANCE = 10 * TOKEN;
+
+        private final long depositPerRequest;
+        private final AtomicLong balance = new AtomicLong();
+
+        HedgeBudget(int maxHedgePercent) {
+            this.depositPerRequest = maxHedgePercent;
+        }
+
+        void onRequest() {
+            balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(MAX_BALANCE, current + deposit));
+        }
+
+        boolean tryWithdraw() {
+            long current;
+            do {
+                current = balance.get();
+                if (current < TOKEN) {
+                    return false;
+                }
+            } while (!balance.compareAndSet(current, current - TOKEN));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import com.inditex.similarproducts.domain.client.ReactiveSimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.models.Product;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequiredArgsConstructor
+public class ReactiveSimilarProductsClientImpl implements ReactiveSimilarProductsClient {
+
+    private final WebClient webClient;
+    private final Retry retry;
+
+    @Override
+    public Flux<String> getSimilarProductIds(String productId) {
+        // Call the similarIds endpoint
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.pathSegment("product", productId, "similarids").build())
+                .retrieve()
+                .bodyToMono(String[].class)
+                .transformDeferred(RetryOperator.of(retry))
+                .flatMapMany(Flux::fromArray)
+                .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Flux.empty())
+                .onErrorMap(e -> new SimilarProductsFetchingException(
+                        "Failed to fetch similar product ids for productId: " + productId, e));
+    }
+
+    @Override
+    public Mono<Product> getProductDetails(String productId) {
+        // Call the product detail endpoint
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.pathSegment("product", productId).build())
+                .retrieve()
+                .bodyToMono(Product.class)
+                .transformDeferred(RetryOperator.of(retry))
+                .onErrorResume(e -> Mono.empty());
+    }
+}
@@ -1,56 +1,190 @@
 package com.inditex.similarproducts.infrastructure.client;
 
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
 import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.client.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.client.cache.UpstreamValidatorCache;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.functions.CheckedSupplier;
 import io.github.resilience4j.retry.Retry;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
+@Slf4j
 public class SimilarProductsClientImpl implements SimilarProductsClient {
 
+    public static final String SIMILAR_IDS = "similarIds";
+    public static final String PRODUCT_DETAILS = "productDetails";
+
+    private static final String UPSTREAM_CALLS = "upstream.calls";
+    private static final String SIMILAR_IDS_ENDPOINT = "similarids";
+    private static final String PRODUCT_DETAILS_ENDPOINT = "product";
+
     private final RestTemplate restTemplate;
     private final String similarProductsUrl;
     private final Retry retry;
+    private final CircuitBreaker similarIdsCircuitBreaker;
+    private final CircuitBreaker productDetailsCircuitBreaker;
+    private final AdaptiveConcurrencyLimiter.Limit similarIdsLimit;
+    private final AdaptiveConcurrencyLimiter.Limit productDetailsLimit;
+    private final NotFoundCache notFoundCache;
+    private final UpstreamValidatorCache validatorCache;
+    private final MeterRegistry meterRegistry;
+
+    public SimilarProductsClientImpl(
+            RestTemplate restTemplate,
+            String similarProductsUrl,
+            Retry retry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            NotFoundCache notFoundCache,
+            UpstreamValidatorCache validatorCache,
+            MeterRegistry meterRegistry) {
+        this.restTemplate = restTemplate;
+        this.similarProductsUrl = similarProductsUrl;
+        this.retry = retry;
+        this.similarIdsCircuitBreaker = circuitBreakerRegistry.circuitBreaker(SIMILAR_IDS);
+        this.productDetailsCircuitBreaker = circuitBreakerRegistry.circuitBreaker(PRODUCT_DETAILS);
+        this.similarIdsLimit =
+                concurrencyLimiter.limitFor(SIMILAR_IDS_ENDPOINT, bulkheadRegistry.bulkhead(SIMILAR_IDS));
+        this.productDetailsLimit =
+                concurrencyLimiter.limitFor(PRODUCT_DETAILS_ENDPOINT, bulkheadRegistry.bulkhead(PRODUCT_DETAILS));
+        this.notFoundCache = notFoundCache;
+        this.validatorCache = validatorCache;
+        this.meterRegistry = meterRegistry;
+    }
 
     @Override
     public List<String> getSimilarProductIds(String productId) {
+        if (notFoundCache.hasNoSimilarIds(productId)) {
+            return List.of();
+        }
+
         // Call the similarIds endpoint
         String similarIdsUrl = UriComponentsBuilder
                 .fromUriString(similarProductsUrl)
                 .pathSegment("product", productId, "similarids")
                 .toUriString();
 
+        long start = System.nanoTime();
         try {
-            return Retry.decorateCheckedSupplier(retry, () -> {
-                String[] similarIds = restTemplate.getForObject(similarIdsUrl, String[].class);
+            List<String> similarProductIds = guarded(similarIdsCircuitBreaker, similarIdsLimit, () -> {
+                String[] similarIds = conditionalGet(SIMILAR_IDS_ENDPOINT, similarIdsUrl, String[].class);
                 return similarIds != null ? Arrays.asList(similarIds) : List.<String>of();
             }).get();
-        } catch (Throwable throwable) {
+            record(SIMILAR_IDS_ENDPOINT, similarProductIds.isEmpty() ? "empty" : "success", start);
+            if (similarProductIds.isEmpty()) {
+                notFoundCache.recordNoSimilarIds(productId);
+            }
+            return similarProductIds;
+        } catch (HttpClientErrorException.NotFound notFound) {
+            record(SIMILAR_IDS_ENDPOINT, "not_found", start);
+            notFoundCache.recordNoSimilarIds(productId);
             return List.of();
+        } catch (Throwable throwable) {
+            record(SIMILAR_IDS_ENDPOINT, "error", start);
+            // Upstream failures are not reported as "no similar products", so callers can fall back to cached data
+            throw new SimilarProductsFetchingException(
+                    "Failed to fetch similar product ids for productId: " + productId, throwable);
         }
     }
 
     @Override
     public Optional<Product> getProductDetails(String productId) {
+        if (notFoundCache.hasNoProductDetails(productId)) {
+            return Optional.empty();
+        }
+
         // Call the product detail endpoint
         String productDetailUrl = UriComponentsBuilder
                 .fromUriString(similarProductsUrl)
                 .pathSegment("product", productId)
                 .toUriString();
 
+        long start = System.nanoTime();
         try {
-            return Retry.decorateCheckedSupplier(retry, () -> {
-                Product product = restTemplate.getForObject(productDetailUrl, Product.class);
-                return Optional.ofNullable(product);
+            Optional<Product> product = guarded(productDetailsCircuitBreaker, productDetailsLimit, () -> {
+                Product productDetails = conditionalGet(PRODUCT_DETAILS_ENDPOINT, productDetailUrl, Product.class);
+                return Optional.ofNullable(productDetails);
             }).get();
-        } catch (Throwable e) {
+            record(PRODUCT_DETAILS_ENDPOINT, product.isPresent() ? "success" : "empty", start);
+            return product;
+        } catch (HttpClientErrorException.NotFound notFound) {
+            record(PRODUCT_DETAILS_ENDPOINT, "not_found", start);
+            notFoundCache.recordNoProductDetails(productId);
             return Optional.empty();
+        } catch (Throwable throwable) {
+            record(PRODUCT_DETAILS_ENDPOINT, "error", start);
+            // The product is left out of the response, the failure is only counted and logged
+            Counter.builder("upstream.failures.swallowed")
+                    .description("Upstream failures answered with an empty result instead of an error")
+                    .tag("endpoint", PRODUCT_DETAILS_ENDPOINT)
+                    .tag("exception", throwable.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            log.debug("Failed to fetch product details for productId: {}", productId, throwable);
+            return Optional.empty();
+        }
+    }
+
+    private <T> T conditionalGet(String endpoint, String url, Class<T> responseType) {
+        UpstreamValidatorCache.ValidatedBody validatedBody = validatorCache.get(url);
+        HttpHeaders headers = validatedBody != null ? validatedBody.conditionalHeaders() : new HttpHeaders();
+
+        ResponseEntity<T> response =
+                restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), responseType);
+        if (validatedBody != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            revalidated(endpoint, "not_modified");
+            return responseType.cast(validatedBody.getBody());
+        }
+        if (validatedBody != null) {
+            revalidated(endpoint, "modified");
         }
+        validatorCache.put(url, response);
+        return response.getBody();
+    }
+
+    private <T> CheckedSupplier<T> guarded(
+            CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter.Limit limit, CheckedSupplier<T> call) {
+        // Rejections of an open circuit or a full bulkhead are not retried, so the call fails fast
+        return Retry.decorateCheckedSupplier(retry,
+                CircuitBreaker.decorateCheckedSupplier(circuitBreaker, limit.decorate(call)));
+    }
+
+    private void record(String endpoint, String outcome, long start) {
+        Timer.builder(UPSTREAM_CALLS)
+                .description("Calls to the similar products service, including retries")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void revalidated(String endpoint, String outcome) {
+        Counter.builder("upstream.revalidations")
+                .description("Conditional calls to the similar products service, by whether the body had changed")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
     }
-}
\ No newline at end of file
+}
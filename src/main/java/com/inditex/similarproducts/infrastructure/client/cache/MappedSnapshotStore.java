@@ -0,0 +1,412 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.inditex.similarproducts.domain.models.Product;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32C;
+
+// Off-heap store of product details and similar IDs in a memory-mapped file, so the data survives restarts without
+// adding to the heap. Opening it only maps the file: lookups go through an open addressing hash index to records in
+// an append-only data region, and a value is decoded only when it is read.
+//
+// Layout: header | index of slotCount (keyHash, recordOffset) longs | data region of records
+// Record: length int | checksum int | kind byte | writtenAt long | key length short | key | value
+@Slf4j
+public class MappedSnapshotStore implements AutoCloseable {
+
+    private static final int MAGIC = 0x53505331;
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SLOT_COUNT_OFFSET = 8;
+    private static final int DATA_END_OFFSET = 16;
+    private static final int ENTRY_COUNT_OFFSET = 24;
+    private static final int RECORD_CHECKSUM_OFFSET = 4;
+    private static final int RECORD_KIND_OFFSET = 8;
+    private static final int RECORD_WRITTEN_AT_OFFSET = 9;
+    private static final int RECORD_KEY_LENGTH_OFFSET = 17;
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 1 + 8 + 2;
+    private static final byte SIMILAR_IDS = 1;
+    private static final byte PRODUCT = 2;
+    private static final int NULL_LENGTH = -1;
+
+    private final FileChannel channel;
+    // Null when another process holds the file, the store is then disabled: it finds nothing and keeps nothing
+    private final MappedByteBuffer buffer;
+    private final int slotCount;
+    private final int dataStart;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MappedSnapshotStore(Path file, int maxEntries, int sizeInBytes) {
+        // Half full at most, so probe sequences stay short
+        this.slotCount = Integer.highestOneBit(Math.max(maxEntries, 1) * 2 - 1) << 1;
+        this.dataStart = HEADER_SIZE + slotCount * SLOT_SIZE;
+        if (dataStart >= sizeInBytes) {
+            throw new IllegalArgumentException(
+                    "Snapshot size " + sizeInBytes + " cannot hold the index of " + maxEntries + " entries");
+        }
+        try {
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open snapshot file " + file, e);
+        }
+        try {
+            // Two instances writing the same file, as when they overlap during a rolling restart, would corrupt it
+            if (!tryLock(channel)) {
+                log.warn("Snapshot file {} is in use by another process, running without a snapshot", file);
+                this.buffer = null;
+                return;
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeInBytes);
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw new UncheckedIOException("Failed to map snapshot file " + file, e);
+        }
+        long dataEnd = buffer.getLong(DATA_END_OFFSET);
+        if (buffer.getInt(MAGIC_OFFSET) != MAGIC || buffer.getInt(VERSION_OFFSET) != VERSION
+                || buffer.getInt(SLOT_COUNT_OFFSET) != slotCount || dataEnd < dataStart || dataEnd > sizeInBytes) {
+            // A new file, or one written with another layout, starts empty
+            clear();
+        }
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    public Entry<List<String>> getSimilarProductIds(String productId) {
+        return get(SIMILAR_IDS, productId, MappedSnapshotStore::readIds);
+    }
+
+    public Entry<Product> getProductDetails(String productId) {
+        return get(PRODUCT, productId, MappedSnapshotStore::readProduct);
+    }
+
+    public void putSimilarProductIds(String productId, List<String> similarProductIds, long writtenAt) {
+        List<byte[]> ids = similarProductIds.stream().map(MappedSnapshotStore::encode).toList();
+        int size = 4 + ids.stream().mapToInt(id -> 4 + id.length).sum();
+        put(SIMILAR_IDS, productId, writtenAt, size, offset -> {
+            buffer.putInt(offset, ids.size());
+            offset += 4;
+            for (byte[] id : ids) {
+                offset = writeBytes(offset, id);
+            }
+        });
+    }
+
+    public void putProductDetails(String productId, Product product, long writtenAt) {
+        byte[] id = encode(product.getId());
+        byte[] name = encode(product.getName());
+        byte[] unscaledPrice = product.getPrice() != null ? product.getPrice().unscaledValue().toByteArray() : null;
+        int size = 4 + length(id) + 4 + length(name) + 4 + 4 + length(unscaledPrice) + 1;
+        put(PRODUCT, productId, writtenAt, size, offset -> {
+            offset = writeBytes(offset, id);
+            offset = writeBytes(offset, name);
+            // BigDecimal as scale and unscaled value, so the price keeps its exact representation
+            buffer.putInt(offset, product.getPrice() != null ? product.getPrice().scale() : 0);
+            offset = writeBytes(offset + 4, unscaledPrice);
+            buffer.put(offset, (byte) (product.isAvailability() ? 1 : 0));
+        });
+    }
+
+    public int getEntryCount() {
+        if (buffer == null) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return buffer.getInt(ENTRY_COUNT_OFFSET);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getUsedBytes() {
+        if (buffer == null) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            return buffer.getLong(DATA_END_OFFSET);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+            // Releases the file lock too
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> Entry<T> get(byte kind, String productId, ValueReader<T> reader) {
+        if (buffer == null) {
+            return null;
+        }
+        byte[] key = encode(productId);
+        long hash = hash(kind, key);
+        lock.readLock().lock();
+        try {
+            int record = find(kind, key, hash);
+            if (record == -1 || !hasValidChecksum(record)) {
+                return null;
+            }
+            long writtenAt = buffer.getLong(record + RECORD_WRITTEN_AT_OFFSET);
+            int valueOffset = record + RECORD_HEADER_SIZE + key.length;
+            return new Entry<>(reader.read(this, valueOffset, record + buffer.getInt(record)), writtenAt);
+        } catch (RuntimeException e) {
+            // A record that does not decode is a miss, the next write of the product replaces it
+            log.debug("Skipping corrupt snapshot record for productId: {}", productId, e);
+            return null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(byte kind, String productId, long writtenAt, int valueSize, ValueWriter writer) {
+        if (buffer == null) {
+            return;
+        }
+        byte[] key = encode(productId);
+        long hash = hash(kind, key);
+        int recordSize = RECORD_HEADER_SIZE + key.length + valueSize;
+        if (key.length > Short.MAX_VALUE || dataStart + recordSize > buffer.capacity()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(kind, key, hash);
+            boolean newEntry = buffer.getLong(slotOffset(slot)) == 0;
+            long dataEnd = buffer.getLong(DATA_END_OFFSET);
+            int entryCount = buffer.getInt(ENTRY_COUNT_OFFSET);
+            if (dataEnd + recordSize > buffer.capacity() || (newEntry && entryCount >= slotCount / 2)) {
+                // Records are only appended, so a full snapshot starts over rather than compacting in place
+                log.info("Snapshot full with {} entries, starting over", entryCount);
+                clear();
+                slot = findSlot(kind, key, hash);
+                dataEnd = dataStart;
+                entryCount = 0;
+                newEntry = true;
+            }
+
+            int record = (int) dataEnd;
+            buffer.putInt(record, recordSize);
+            buffer.put(record + RECORD_KIND_OFFSET, kind);
+            buffer.putLong(record + RECORD_WRITTEN_AT_OFFSET, writtenAt);
+            buffer.putShort(record + RECORD_KEY_LENGTH_OFFSET, (short) key.length);
+            buffer.put(record + RECORD_HEADER_SIZE, key);
+            writer.write(record + RECORD_HEADER_SIZE + key.length);
+            buffer.putInt(record + RECORD_CHECKSUM_OFFSET, checksum(record, recordSize));
+
+            // The slot points to the new record only once it is complete and reserved, so a writer stopped halfway
+            // leaves no slot to data that gets overwritten. After a crash the pages of the file may still reach
+            // the disk in any order, which is what the checksum of each record is checked against on reads
+            buffer.putLong(DATA_END_OFFSET, dataEnd + recordSize);
+            buffer.putLong(slotOffset(slot) + 8, record);
+            buffer.putLong(slotOffset(slot), hash);
+            if (newEntry) {
+                buffer.putInt(ENTRY_COUNT_OFFSET, entryCount + 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            // Held by another store in this same process
+            return false;
+        }
+    }
+
+    private boolean hasValidChecksum(int record) {
+        int length = buffer.getInt(record);
+        return length >= RECORD_HEADER_SIZE && (long) record + length <= dataEnd()
+                && buffer.getInt(record + RECORD_CHECKSUM_OFFSET) == checksum(record, length);
+    }
+
+    // Over everything in the record after the checksum itself
+    private int checksum(int record, int length) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.slice(record + RECORD_KIND_OFFSET, length - RECORD_KIND_OFFSET));
+        return (int) checksum.getValue();
+    }
+
+    private long dataEnd() {
+        return Math.min(buffer.getLong(DATA_END_OFFSET), buffer.capacity());
+    }
+
+    private int find(byte kind, byte[] key, long hash) {
+        int slot = findSlot(kind, key, hash);
+        return buffer.getLong(slotOffset(slot)) == 0 ? -1 : (int) buffer.getLong(slotOffset(slot) + 8);
+    }
+
+    // Linear probing up to the slot holding the key, or the first empty one
+    private int findSlot(byte kind, byte[] key, long hash) {
+        int mask = slotCount - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (true) {
+            long slotHash = buffer.getLong(slotOffset(slot));
+            if (slotHash == 0 || slotHash == hash && matches((int) buffer.getLong(slotOffset(slot) + 8), kind, key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean matches(int record, byte kind, byte[] key) {
+        // A slot torn by a crash may point anywhere, it then matches no key
+        if (record < dataStart || (long) record + RECORD_HEADER_SIZE + key.length > dataEnd()) {
+            return false;
+        }
+        if (buffer.get(record + RECORD_KIND_OFFSET) != kind
+                || buffer.getShort(record + RECORD_KEY_LENGTH_OFFSET) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(record + RECORD_HEADER_SIZE + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clear() {
+        for (int offset = HEADER_SIZE; offset < dataStart; offset += 8) {
+            buffer.putLong(offset, 0);
+        }
+        buffer.putInt(MAGIC_OFFSET, MAGIC);
+        buffer.putInt(VERSION_OFFSET, VERSION);
+        buffer.putInt(SLOT_COUNT_OFFSET, slotCount);
+        buffer.putLong(DATA_END_OFFSET, dataStart);
+        buffer.putInt(ENTRY_COUNT_OFFSET, 0);
+    }
+
+    private int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private int writeBytes(int offset, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(offset, NULL_LENGTH);
+            return offset + 4;
+        }
+        buffer.putInt(offset, bytes.length);
+        buffer.put(offset + 4, bytes);
+        return offset + 4 + bytes.length;
+    }
+
+    // Every length is checked against the end of its record before it is used
+    private byte[] readBytes(int offset, int end) {
+        requireWithin(offset, 4, end);
+        int length = buffer.getInt(offset);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        requireWithin(offset + 4, length, end);
+        byte[] bytes = new byte[length];
+        buffer.get(offset + 4, bytes);
+        return bytes;
+    }
+
+    private List<String> readIds(int offset, int end) {
+        requireWithin(offset, 4, end);
+        int count = buffer.getInt(offset);
+        offset += 4;
+        // Each ID takes at least its length
+        requireWithin(offset, count * 4L, end);
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] id = readBytes(offset, end);
+            ids.add(decode(id));
+            offset += 4 + length(id);
+        }
+        return ids;
+    }
+
+    private Product readProduct(int offset, int end) {
+        byte[] id = readBytes(offset, end);
+        offset += 4 + length(id);
+        byte[] name = readBytes(offset, end);
+        offset += 4 + length(name);
+        requireWithin(offset, 4, end);
+        int scale = buffer.getInt(offset);
+        byte[] unscaledPrice = readBytes(offset + 4, end);
+        offset += 4 + 4 + length(unscaledPrice);
+        requireWithin(offset, 1, end);
+        BigDecimal price = unscaledPrice != null ? new BigDecimal(new BigInteger(unscaledPrice), scale) : null;
+        return new Product(decode(id), decode(name), price, buffer.get(offset) == 1);
+    }
+
+    private static void requireWithin(int offset, long size, int end) {
+        if (size < 0 || offset + size > end) {
+            throw new IllegalStateException("Corrupt snapshot record at offset " + offset);
+        }
+    }
+
+    // FNV-1a over the kind and key, never 0 since 0 marks an empty slot
+    private static long hash(byte kind, byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ kind) * 0x100000001b3L;
+        for (byte b : key) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return hash != 0 ? hash : 1;
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String decode(byte[] value) {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    public record Entry<T>(T value, long writtenAt) {
+    }
+
+    @FunctionalInterface
+    private interface ValueReader<T> {
+        T read(MappedSnapshotStore store, int offset, int end);
+    }
+
+    @FunctionalInterface
+    private interface ValueWriter {
+        void write(int offset);
+    }
+}
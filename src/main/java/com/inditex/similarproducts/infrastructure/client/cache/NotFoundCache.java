@@ -0,0 +1,51 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+
+// Remembers the products the external service confirmed as unknown, so repeated lookups of the same missing
+// product do not cost a round trip. Only confirmed answers are recorded, never failed calls
+@Getter
+public class NotFoundCache {
+
+    private final Cache<String, Boolean> similarIdsNotFound;
+    private final Cache<String, Boolean> productDetailsNotFound;
+    private final boolean enabled;
+
+    public NotFoundCache(Caffeine<Object, Object> cacheBuilder) {
+        this.similarIdsNotFound = cacheBuilder.build();
+        this.productDetailsNotFound = cacheBuilder.build();
+        this.enabled = true;
+    }
+
+    private NotFoundCache() {
+        this.similarIdsNotFound = null;
+        this.productDetailsNotFound = null;
+        this.enabled = false;
+    }
+
+    public static NotFoundCache disabled() {
+        return new NotFoundCache();
+    }
+
+    public boolean hasNoSimilarIds(String productId) {
+        return enabled && similarIdsNotFound.getIfPresent(productId) != null;
+    }
+
+    public void recordNoSimilarIds(String productId) {
+        if (enabled) {
+            similarIdsNotFound.put(productId, Boolean.TRUE);
+        }
+    }
+
+    public boolean hasNoProductDetails(String productId) {
+        return enabled && productDetailsNotFound.getIfPresent(productId) != null;
+    }
+
+    public void recordNoProductDetails(String productId) {
+        if (enabled) {
+            productDetailsNotFound.put(productId, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+public class ProductDetailsCachingClient implements SimilarProductsClient, AutoCloseable {
+
+    private final SimilarProductsClient delegate;
+    private final Cache<String, Product> productDetailsCache;
+    private final Duration refreshAhead;
+    private final Executor refreshExecutor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public ProductDetailsCachingClient(SimilarProductsClient delegate, Cache<String, Product> productDetailsCache) {
+        this(delegate, productDetailsCache, Duration.ZERO, Runnable::run);
+    }
+
+    public ProductDetailsCachingClient(
+            SimilarProductsClient delegate,
+            Cache<String, Product> productDetailsCache,
+            Duration refreshAhead,
+            Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.productDetailsCache = productDetailsCache;
+        this.refreshAhead = refreshAhead;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public List<String> getSimilarProductIds(String productId) {
+        return delegate.getSimilarProductIds(productId);
+    }
+
+    @Override
+    public Optional<Product> getProductDetails(String productId) {
+        Product product = productDetailsCache.getIfPresent(productId);
+        if (product != null) {
+            if (isDueForRefresh(productId)) {
+                refresh(productId);
+            }
+            return Optional.of(product);
+        }
+
+        // Loaded outside the cache's compute, which would hold a map lock, and pin a virtual thread, for the whole
+        // upstream call. Concurrent misses for the same product are already coalesced by the delegate.
+        // Empty results are not cached: the delegate cannot tell a missing product from a failed call
+        Optional<Product> loaded = delegate.getProductDetails(productId);
+        loaded.ifPresent(details -> productDetailsCache.put(productId, details));
+        return loaded;
+    }
+
+    @Override
+    public void close() throws Exception {
+        // Refreshes still queued or running are dropped, their entries are loaded again after expiring
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Only entries that are still requested shortly before they expire are reloaded, cold ones just expire
+    private boolean isDueForRefresh(String productId) {
+        if (refreshAhead.isZero()) {
+            return false;
+        }
+        return productDetailsCache.policy().expireAfterWrite()
+                .flatMap(expiration -> expiration.ageOf(productId)
+                        .map(age -> age.compareTo(expiration.getExpiresAfter().minus(refreshAhead)) >= 0))
+                .orElse(false);
+    }
+
+    private void refresh(String productId) {
+        if (!refreshing.add(productId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    // A failed reload keeps the current entry until it expires
+                    delegate.getProductDetails(productId)
+                            .ifPresent(product -> productDetailsCache.put(productId, product));
+                } finally {
+                    refreshing.remove(productId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The refresh executor is saturated, the entry is loaded again on its first request after expiring
+            refreshing.remove(productId);
+        }
+    }
+}
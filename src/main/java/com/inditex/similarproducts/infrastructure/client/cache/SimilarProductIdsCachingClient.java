@@ -0,0 +1,59 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+public class SimilarProductIdsCachingClient implements SimilarProductsClient, AutoCloseable {
+
+    private final SimilarProductsClient delegate;
+    private final Executor refreshExecutor;
+
+    @Getter
+    private final LoadingCache<String, List<String>> similarProductIdsCache;
+
+    // The builder is expected to set refreshAfterWrite (soft TTL) and expireAfterWrite (hard TTL): stale lists are
+    // served while they are reloaded in the background on the refresh executor, and a failed reload keeps the
+    // previous list until it expires
+    public SimilarProductIdsCachingClient(
+            SimilarProductsClient delegate, Caffeine<Object, Object> cacheBuilder, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.refreshExecutor = refreshExecutor;
+        this.similarProductIdsCache = cacheBuilder.executor(refreshExecutor).build(this::loadSimilarProductIds);
+    }
+
+    @Override
+    public List<String> getSimilarProductIds(String productId) {
+        return Objects.requireNonNullElse(similarProductIdsCache.get(productId), List.of());
+    }
+
+    @Override
+    public Optional<Product> getProductDetails(String productId) {
+        return delegate.getProductDetails(productId);
+    }
+
+    @Override
+    public void close() throws Exception {
+        // Reloads still running are dropped, the previous lists are served until they expire
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private List<String> loadSimilarProductIds(String productId) {
+        // Empty lists are not cached, returning null leaves the key absent
+        List<String> similarProductIds = delegate.getSimilarProductIds(productId);
+        return similarProductIds.isEmpty() ? null : List.copyOf(similarProductIds);
+    }
+}
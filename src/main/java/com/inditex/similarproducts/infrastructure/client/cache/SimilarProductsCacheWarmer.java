@@ -0,0 +1,156 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+// Loads the hot products through the client before the application reports itself ready, and on shutdown
+// leaves the IDs of the most requested product details behind for the next instance to warm up with.
+// Application runners complete before the readiness state changes to accepting traffic
+@Slf4j
+@RequiredArgsConstructor
+public class SimilarProductsCacheWarmer implements ApplicationRunner, DisposableBean {
+
+    private final SimilarProductsClient similarProductsClient;
+    private final Cache<String, Product> productDetailsCache;
+    private final Path hotProductsFile;
+    private final Path snapshotFile;
+    private final int snapshotSize;
+    private final Duration timeout;
+    private final int maxConcurrency;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        // Hot products are warmed with their similar products, snapshot entries are product details
+        // the previous instance served the most, whichever product they were similar to
+        Set<String> hotProductIds = new LinkedHashSet<>(readProductIds(hotProductsFile));
+        Set<String> snapshotProductIds = new LinkedHashSet<>(readProductIds(snapshotFile));
+        int total = hotProductIds.size() + snapshotProductIds.size();
+        if (total == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(timeout);
+        Semaphore permits = new Semaphore(maxConcurrency);
+        AtomicInteger warmed = new AtomicInteger();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (String productId : hotProductIds) {
+                if (!submit(executor, permits, deadline, () -> warmSimilarProducts(productId), warmed)) {
+                    break;
+                }
+            }
+            for (String productId : snapshotProductIds) {
+                if (!submit(executor, permits, deadline, () -> warmProductDetails(productId), warmed)) {
+                    break;
+                }
+            }
+            executor.shutdown();
+            // Whatever is still loading when the timeout expires is abandoned, warming must not hold startup back
+            executor.awaitTermination(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Warmed up {} of {} hot products in {} ms", warmed.get(), total,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private boolean submit(
+            ExecutorService executor,
+            Semaphore permits,
+            Deadline deadline,
+            BooleanSupplier warm,
+            AtomicInteger warmed) throws InterruptedException {
+        if (!permits.tryAcquire(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                if (deadline.run(warm::getAsBoolean)) {
+                    warmed.incrementAndGet();
+                }
+            } finally {
+                permits.release();
+            }
+        });
+        return true;
+    }
+
+    private boolean warmSimilarProducts(String productId) {
+        try {
+            for (String similarProductId : similarProductsClient.getSimilarProductIds(productId)) {
+                if (Deadline.current().isExpired()) {
+                    return false;
+                }
+                similarProductsClient.getProductDetails(similarProductId);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Failed to warm up productId: {}", productId, e);
+            return false;
+        }
+    }
+
+    private boolean warmProductDetails(String productId) {
+        try {
+            return similarProductsClient.getProductDetails(productId).isPresent();
+        } catch (RuntimeException e) {
+            log.debug("Failed to warm up product details for productId: {}", productId, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (snapshotFile == null) {
+            return;
+        }
+        List<String> hottest = productDetailsCache.policy().eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(snapshotSize).keySet()))
+                .orElse(List.of());
+        if (hottest.isEmpty()) {
+            // An instance stopped before serving anything keeps the previous snapshot
+            return;
+        }
+        try {
+            Files.write(snapshotFile, hottest);
+        } catch (IOException e) {
+            log.warn("Failed to write the hot products snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    private static List<String> readProductIds(Path file) {
+        if (file == null || !Files.isReadable(file)) {
+            return List.of();
+        }
+        try (var lines = Files.lines(file)) {
+            return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .toList();
+        } catch (IOException e) {
+            log.warn("Failed to read hot products from {}", file, e);
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+// Second tier below the in-heap caches, seeding them after a restart: answers from the memory-mapped snapshot with
+// entries a previous instance wrote while they are fresh, and records every successful upstream answer in it, so a
+// restarted instance does not fetch everything again. Entries this instance wrote are never served, the in-heap
+// caches above already hold them, and a reload by refresh-ahead or revalidation must reach the upstream
+public class SnapshotSimilarProductsClient implements SimilarProductsClient, AutoCloseable {
+
+    private final SimilarProductsClient delegate;
+    private final MappedSnapshotStore snapshotStore;
+    private final long similarIdsTimeToLiveMillis;
+    private final long productDetailsTimeToLiveMillis;
+    private final Clock clock;
+    private final long startedAt;
+    private final Counter similarIdsHits;
+    private final Counter similarIdsMisses;
+    private final Counter productDetailsHits;
+    private final Counter productDetailsMisses;
+
+    public SnapshotSimilarProductsClient(
+            SimilarProductsClient delegate,
+            MappedSnapshotStore snapshotStore,
+            Duration similarIdsTimeToLive,
+            Duration productDetailsTimeToLive,
+            Clock clock,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.snapshotStore = snapshotStore;
+        this.similarIdsTimeToLiveMillis = similarIdsTimeToLive.toMillis();
+        this.productDetailsTimeToLiveMillis = productDetailsTimeToLive.toMillis();
+        this.clock = clock;
+        this.startedAt = clock.millis();
+        this.similarIdsHits = lookupsCounter(meterRegistry, "similarids", "hit");
+        this.similarIdsMisses = lookupsCounter(meterRegistry, "similarids", "miss");
+        this.productDetailsHits = lookupsCounter(meterRegistry, "product", "hit");
+        this.productDetailsMisses = lookupsCounter(meterRegistry, "product", "miss");
+    }
+
+    @Override
+    public List<String> getSimilarProductIds(String productId) {
+        MappedSnapshotStore.Entry<List<String>> entry = snapshotStore.getSimilarProductIds(productId);
+        if (isFresh(entry, similarIdsTimeToLiveMillis)) {
+            similarIdsHits.increment();
+            return entry.value();
+        }
+        similarIdsMisses.increment();
+
+        List<String> similarProductIds = delegate.getSimilarProductIds(productId);
+        // Empty lists are left to the not found cache, which expires them much sooner
+        if (!similarProductIds.isEmpty()) {
+            snapshotStore.putSimilarProductIds(productId, similarProductIds, clock.millis());
+        }
+        return similarProductIds;
+    }
+
+    @Override
+    public Optional<Product> getProductDetails(String productId) {
+        MappedSnapshotStore.Entry<Product> entry = snapshotStore.getProductDetails(productId);
+        if (isFresh(entry, productDetailsTimeToLiveMillis)) {
+            productDetailsHits.increment();
+            return Optional.of(entry.value());
+        }
+        productDetailsMisses.increment();
+
+        Optional<Product> product = delegate.getProductDetails(productId);
+        product.ifPresent(details -> snapshotStore.putProductDetails(productId, details, clock.millis()));
+        return product;
+    }
+
+    // Closes the decorators below, some of them own threads
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Entries carry wall clock times, so they keep their age across restarts
+    private boolean isFresh(MappedSnapshotStore.Entry<?> entry, long timeToLiveMillis) {
+        return entry != null
+                && entry.writtenAt() < startedAt
+                && clock.millis() - entry.writtenAt() < timeToLiveMillis;
+    }
+
+    private static Counter lookupsCounter(MeterRegistry meterRegistry, String endpoint, String outcome) {
+        return Counter.builder("upstream.snapshot.lookups")
+                .description("Lookups in the memory-mapped snapshot of upstream data")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
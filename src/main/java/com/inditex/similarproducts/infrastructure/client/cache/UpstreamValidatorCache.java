@@ -0,0 +1,71 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+// Keeps the last body received for each upstream URL together with its ETag and Last-Modified validators, so the
+// next call can be a conditional GET and a 304 answer reuses the body without transferring or parsing it again
+public class UpstreamValidatorCache {
+
+    @Getter
+    private final Cache<String, ValidatedBody> validatedBodies;
+    private final boolean enabled;
+
+    public UpstreamValidatorCache(Caffeine<Object, Object> cacheBuilder) {
+        this.validatedBodies = cacheBuilder.build();
+        this.enabled = true;
+    }
+
+    private UpstreamValidatorCache() {
+        this.validatedBodies = null;
+        this.enabled = false;
+    }
+
+    public static UpstreamValidatorCache disabled() {
+        return new UpstreamValidatorCache();
+    }
+
+    public ValidatedBody get(String url) {
+        return enabled ? validatedBodies.getIfPresent(url) : null;
+    }
+
+    // Responses without validators cannot be revalidated and are not kept
+    public void put(String url, ResponseEntity<?> response) {
+        if (!enabled || response.getBody() == null) {
+            return;
+        }
+        String etag = response.getHeaders().getETag();
+        long lastModified = response.getHeaders().getLastModified();
+        if (etag != null || lastModified != -1) {
+            validatedBodies.put(url, new ValidatedBody(response.getBody(), etag, lastModified));
+        }
+    }
+
+    @Getter
+    public static class ValidatedBody {
+
+        private final Object body;
+        private final String etag;
+        private final long lastModified;
+
+        ValidatedBody(Object body, String etag, long lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public HttpHeaders conditionalHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            if (etag != null) {
+                headers.setIfNoneMatch(etag);
+            }
+            if (lastModified != -1) {
+                headers.setIfModifiedSince(lastModified);
+            }
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.infrastructure.config;
+
+import com.inditex.similarproducts.infrastructure.monitoring.VirtualThreadPinningMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MonitoringConfig {
+
+    @Value("${monitoring.virtual_threads.pinning.threshold}")
+    private long pinningThreshold;
+
+    @Bean(initMethod = "start")
+    @ConditionalOnProperty(name = "monitoring.virtual_threads.pinning.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(Duration.ofMillis(pinningThreshold), meterRegistry);
+    }
+}
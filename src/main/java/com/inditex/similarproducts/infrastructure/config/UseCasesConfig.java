@@ -1,16 +1,59 @@
 package com.inditex.similarproducts.infrastructure.config;
 
+import com.inditex.similarproducts.application.getsimilarproducts.ConcurrentFanOut;
+import com.inditex.similarproducts.application.getsimilarproducts.FanOut;
+import com.inditex.similarproducts.application.getsimilarproducts.GetSimilarProductsBatchUseCaseImpl;
 import com.inditex.similarproducts.application.getsimilarproducts.GetSimilarProductsUseCaseImpl;
+import com.inditex.similarproducts.application.getsimilarproducts.ReactiveGetSimilarProductsUseCaseImpl;
+import com.inditex.similarproducts.application.getsimilarproducts.SequentialFanOut;
+import com.inditex.similarproducts.domain.client.ReactiveSimilarProductsClient;
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsBatchUseCase;
 import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
+import com.inditex.similarproducts.domain.usecases.ReactiveGetSimilarProductsUseCase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.Executors;
+
 @Configuration
 public class UseCasesConfig {
 
+    private static final String FAN_OUT_MODE = "use_cases.get_similar_products.fan_out.mode";
+
+    @Value("${use_cases.get_similar_products.fan_out.max_concurrency}")
+    private int fanOutMaxConcurrency;
+
+    @Bean
+    @ConditionalOnProperty(name = FAN_OUT_MODE, havingValue = "parallel")
+    public FanOut concurrentFanOut() {
+        return new ConcurrentFanOut(Executors.newVirtualThreadPerTaskExecutor(), fanOutMaxConcurrency);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = FAN_OUT_MODE, havingValue = "sequential", matchIfMissing = true)
+    public FanOut sequentialFanOut() {
+        return new SequentialFanOut();
+    }
+
+    @Bean
+    public GetSimilarProductsUseCase getSimilarProductsUseCase(SimilarProductsClient similarProductsClient, FanOut fanOut) {
+        return new GetSimilarProductsUseCaseImpl(similarProductsClient, fanOut);
+    }
+
+    @Bean
+    public GetSimilarProductsBatchUseCase getSimilarProductsBatchUseCase(
+            SimilarProductsClient similarProductsClient, FanOut fanOut) {
+        return new GetSimilarProductsBatchUseCaseImpl(similarProductsClient, fanOut);
+    }
+
     @Bean
-    public GetSimilarProductsUseCase getSimilarProductsUseCase(SimilarProductsClient similarProductsClient) {
-        return new GetSimilarProductsUseCaseImpl(similarProductsClient);
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveGetSimilarProductsUseCase reactiveGetSimilarProductsUseCase(
+            ReactiveSimilarProductsClient reactiveSimilarProductsClient) {
+        return new ReactiveGetSimilarProductsUseCaseImpl(reactiveSimilarProductsClient, fanOutMaxConcurrency);
     }
 }
\ No newline at end of file
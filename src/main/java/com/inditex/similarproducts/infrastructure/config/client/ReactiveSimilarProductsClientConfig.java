@@ -0,0 +1,75 @@
+package com.inditex.similarproducts.infrastructure.config.client;
+
+import com.inditex.similarproducts.domain.client.ReactiveSimilarProductsClient;
+import com.inditex.similarproducts.infrastructure.client.ReactiveSimilarProductsClientImpl;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSimilarProductsClientConfig {
+
+    @Value("${clients.similar_products.url}")
+    private String similarProductsUrl;
+
+    @Value("${clients.similar_products.retry.max_attempts}")
+    private int maxAttempts;
+
+    @Value("${clients.similar_products.retry.wait_duration}")
+    private long waitDuration;
+
+    @Value("${clients.similar_products.http.max_connections}")
+    private int maxConnections;
+
+    @Value("${clients.similar_products.http.connect_timeout}")
+    private int connectTimeout;
+
+    @Value("${clients.similar_products.http.read_timeout}")
+    private long readTimeout;
+
+    @Value("${clients.similar_products.http.pool_acquire_timeout}")
+    private long poolAcquireTimeout;
+
+    @Value("${clients.similar_products.http.keep_alive}")
+    private long keepAlive;
+
+    @Bean
+    public ReactiveSimilarProductsClient reactiveSimilarProductsClient(WebClient.Builder webClientBuilder) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("similar-products")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeout))
+                .maxIdleTime(Duration.ofMillis(keepAlive))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+
+        WebClient webClient = webClientBuilder
+                .baseUrl(similarProductsUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        // Same policy as the blocking client, which only retries 5xx responses
+        RetryConfig retryConfig = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .waitDuration(Duration.ofMillis(waitDuration))
+                .retryOnException(e -> e instanceof WebClientResponseException response
+                        && response.getStatusCode().is5xxServerError())
+                .build();
+
+        return new ReactiveSimilarProductsClientImpl(webClient, Retry.of("reactiveSimilarProductsRetry", retryConfig));
+    }
+}
\ No newline at end of file
@@ -1,17 +1,48 @@
 package com.inditex.similarproducts.infrastructure.config.client;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.client.AdaptiveConcurrencyLimiter;
+import com.inditex.similarproducts.infrastructure.client.CoalescingSimilarProductsClient;
+import com.inditex.similarproducts.infrastructure.client.HedgingSimilarProductsClient;
 import com.inditex.similarproducts.infrastructure.client.SimilarProductsClientImpl;
+import com.inditex.similarproducts.infrastructure.client.cache.MappedSnapshotStore;
+import com.inditex.similarproducts.infrastructure.client.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.client.cache.ProductDetailsCachingClient;
+import com.inditex.similarproducts.infrastructure.client.cache.SimilarProductIdsCachingClient;
+import com.inditex.similarproducts.infrastructure.client.cache.SimilarProductsCacheWarmer;
+import com.inditex.similarproducts.infrastructure.client.cache.SnapshotSimilarProductsClient;
+import com.inditex.similarproducts.infrastructure.client.cache.UpstreamValidatorCache;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class SimilarProductsClientConfig {
@@ -25,26 +56,261 @@ public class SimilarProductsClientConfig {
     @Value("${clients.similar_products.retry.wait_duration}")
     private long waitDuration;
 
+    @Value("${clients.similar_products.hedging.enabled}")
+    private boolean hedgingEnabled;
+
+    @Value("${clients.similar_products.hedging.delay}")
+    private long hedgingDelay;
+
+    @Value("${clients.similar_products.hedging.max_percent}")
+    private int hedgingMaxPercent;
+
+    @Value("${clients.similar_products.coalescing.enabled}")
+    private boolean coalescingEnabled;
+
+    @Value("${clients.similar_products.cache.product_details.enabled}")
+    private boolean productDetailsCacheEnabled;
+
+    @Value("${clients.similar_products.cache.product_details.max_size}")
+    private long productDetailsCacheMaxSize;
+
+    @Value("${clients.similar_products.cache.product_details.time_to_live}")
+    private long productDetailsCacheTimeToLive;
+
+    @Value("${clients.similar_products.cache.product_details.refresh_ahead}")
+    private long productDetailsCacheRefreshAhead;
+
+    @Value("${clients.similar_products.cache.product_details.refresh.threads}")
+    private int productDetailsRefreshThreads;
+
+    @Value("${clients.similar_products.cache.product_details.refresh.queue_size}")
+    private int productDetailsRefreshQueueSize;
+
+    @Value("${clients.similar_products.cache.similar_ids.enabled}")
+    private boolean similarIdsCacheEnabled;
+
+    @Value("${clients.similar_products.cache.similar_ids.max_size}")
+    private long similarIdsCacheMaxSize;
+
+    @Value("${clients.similar_products.cache.similar_ids.soft_time_to_live}")
+    private long similarIdsCacheSoftTimeToLive;
+
+    @Value("${clients.similar_products.cache.similar_ids.hard_time_to_live}")
+    private long similarIdsCacheHardTimeToLive;
+
+    @Value("${clients.similar_products.cache.not_found.enabled}")
+    private boolean notFoundCacheEnabled;
+
+    @Value("${clients.similar_products.cache.not_found.max_size}")
+    private long notFoundCacheMaxSize;
+
+    @Value("${clients.similar_products.cache.not_found.time_to_live}")
+    private long notFoundCacheTimeToLive;
+
+    @Value("${clients.similar_products.cache.validators.enabled}")
+    private boolean validatorCacheEnabled;
+
+    @Value("${clients.similar_products.cache.validators.max_size}")
+    private long validatorCacheMaxSize;
+
+    @Value("${clients.similar_products.cache.validators.time_to_live}")
+    private long validatorCacheTimeToLive;
+
+    @Value("${clients.similar_products.cache.snapshot.file}")
+    private String snapshotFile;
+
+    @Value("${clients.similar_products.cache.snapshot.max_entries}")
+    private int snapshotMaxEntries;
+
+    @Value("${clients.similar_products.cache.snapshot.size}")
+    private int snapshotSize;
+
+    @Value("${clients.similar_products.cache.snapshot.time_to_live}")
+    private long snapshotTimeToLive;
+
+    @Value("${clients.similar_products.warm_up.hot_products_file}")
+    private String warmUpHotProductsFile;
+
+    @Value("${clients.similar_products.warm_up.snapshot_file}")
+    private String warmUpSnapshotFile;
+
+    @Value("${clients.similar_products.warm_up.snapshot_size}")
+    private int warmUpSnapshotSize;
+
+    @Value("${clients.similar_products.warm_up.timeout}")
+    private long warmUpTimeout;
+
+    @Value("${clients.similar_products.warm_up.max_concurrency}")
+    private int warmUpMaxConcurrency;
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ClientHttpRequestFactory clientHttpRequestFactory) {
+        return new RestTemplate(clientHttpRequestFactory);
     }
 
     @Bean
-    public Retry retry() {
+    public Retry retry(MeterRegistry meterRegistry) {
         RetryConfig retryConfig = RetryConfig.custom()
                 .maxAttempts(maxAttempts)
                 .waitDuration(Duration.ofMillis(waitDuration))
-                .retryExceptions(IOException.class, HttpServerErrorException.class)
+                // A failed call is only retried if the request deadline leaves room for the wait before it
+                .retryOnException(e -> (e instanceof IOException || e instanceof HttpServerErrorException)
+                        && Deadline.current().remaining().toMillis() > waitDuration)
                 .ignoreExceptions(IllegalArgumentException.class)
                 .build();
 
-        return Retry.of("similarProductsRetry", retryConfig);
+        RetryRegistry retryRegistry = RetryRegistry.of(retryConfig);
+        TaggedRetryMetrics.ofRetryRegistry(retryRegistry).bindTo(meterRegistry);
+        return retryRegistry.retry("similarProductsRetry");
+    }
+
+    @Bean
+    public Cache<String, Product> productDetailsCache(MeterRegistry meterRegistry) {
+        // Caffeine evicts with W-TinyLFU, so frequently requested products survive bursts of one-off lookups
+        Cache<String, Product> productDetailsCache = Caffeine.newBuilder()
+                .maximumSize(productDetailsCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(productDetailsCacheTimeToLive))
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, productDetailsCache, "product_details");
+    }
+
+    @Bean
+    public NotFoundCache notFoundCache(MeterRegistry meterRegistry) {
+        if (!notFoundCacheEnabled) {
+            return NotFoundCache.disabled();
+        }
+        // Short lived, so a product that is published later is found within the time to live
+        NotFoundCache notFoundCache = new NotFoundCache(Caffeine.newBuilder()
+                .maximumSize(notFoundCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(notFoundCacheTimeToLive))
+                .recordStats());
+        CaffeineCacheMetrics.monitor(meterRegistry, notFoundCache.getSimilarIdsNotFound(), "similar_ids_not_found");
+        CaffeineCacheMetrics.monitor(
+                meterRegistry, notFoundCache.getProductDetailsNotFound(), "product_details_not_found");
+        return notFoundCache;
+    }
+
+    @Bean
+    public UpstreamValidatorCache upstreamValidatorCache(MeterRegistry meterRegistry) {
+        if (!validatorCacheEnabled) {
+            return UpstreamValidatorCache.disabled();
+        }
+        // Outlives the product details and similar IDs caches, so their expired entries can be revalidated
+        UpstreamValidatorCache validatorCache = new UpstreamValidatorCache(Caffeine.newBuilder()
+                .maximumSize(validatorCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(validatorCacheTimeToLive))
+                .recordStats());
+        CaffeineCacheMetrics.monitor(meterRegistry, validatorCache.getValidatedBodies(), "upstream_validators");
+        return validatorCache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "clients.similar_products.cache.snapshot.enabled", havingValue = "true")
+    public MappedSnapshotStore mappedSnapshotStore(MeterRegistry meterRegistry) {
+        MappedSnapshotStore snapshotStore =
+                new MappedSnapshotStore(Path.of(snapshotFile), snapshotMaxEntries, snapshotSize);
+        Gauge.builder("upstream.snapshot.entries", snapshotStore, MappedSnapshotStore::getEntryCount)
+                .description("Entries in the memory-mapped snapshot of upstream data")
+                .register(meterRegistry);
+        Gauge.builder("upstream.snapshot.used", snapshotStore, MappedSnapshotStore::getUsedBytes)
+                .description("Bytes of the memory-mapped snapshot file in use, including the index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return snapshotStore;
     }
 
     @Bean
     public SimilarProductsClient similarProductsClient(
-            RestTemplate restTemplate, Retry retry) {
-        return new SimilarProductsClientImpl(restTemplate, similarProductsUrl, retry);
+            RestTemplate restTemplate,
+            Retry retry,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            AdaptiveConcurrencyLimiter concurrencyLimiter,
+            Cache<String, Product> productDetailsCache,
+            NotFoundCache notFoundCache,
+            UpstreamValidatorCache upstreamValidatorCache,
+            ObjectProvider<MappedSnapshotStore> mappedSnapshotStore,
+            MeterRegistry meterRegistry) {
+        SimilarProductsClient similarProductsClient = new SimilarProductsClientImpl(
+                restTemplate,
+                similarProductsUrl,
+                retry,
+                circuitBreakerRegistry,
+                bulkheadRegistry,
+                concurrencyLimiter,
+                notFoundCache,
+                upstreamValidatorCache,
+                meterRegistry);
+
+        if (hedgingEnabled) {
+            similarProductsClient = new HedgingSimilarProductsClient(
+                    similarProductsClient, Duration.ofMillis(hedgingDelay), hedgingMaxPercent, meterRegistry);
+        }
+        if (coalescingEnabled) {
+            similarProductsClient = new CoalescingSimilarProductsClient(similarProductsClient, meterRegistry);
+        }
+        MappedSnapshotStore snapshotStore = mappedSnapshotStore.getIfAvailable();
+        if (snapshotStore != null && snapshotStore.isEnabled()) {
+            similarProductsClient = new SnapshotSimilarProductsClient(
+                    similarProductsClient,
+                    snapshotStore,
+                    // Never older than the in-heap entries seeded from them would be allowed to get
+                    Duration.ofMillis(Math.min(snapshotTimeToLive, similarIdsCacheSoftTimeToLive)),
+                    Duration.ofMillis(Math.min(snapshotTimeToLive, productDetailsCacheTimeToLive)),
+                    Clock.systemUTC(),
+                    meterRegistry);
+        }
+        if (similarIdsCacheEnabled) {
+            SimilarProductIdsCachingClient similarIdsCachingClient = new SimilarProductIdsCachingClient(
+                    similarProductsClient,
+                    Caffeine.newBuilder()
+                            .maximumSize(similarIdsCacheMaxSize)
+                            .refreshAfterWrite(Duration.ofMillis(similarIdsCacheSoftTimeToLive))
+                            .expireAfterWrite(Duration.ofMillis(similarIdsCacheHardTimeToLive))
+                            .recordStats(),
+                    Executors.newVirtualThreadPerTaskExecutor());
+            CaffeineCacheMetrics.monitor(meterRegistry, similarIdsCachingClient.getSimilarProductIdsCache(), "similar_ids");
+            similarProductsClient = similarIdsCachingClient;
+        }
+        if (productDetailsCacheEnabled) {
+            similarProductsClient = new ProductDetailsCachingClient(
+                    similarProductsClient,
+                    productDetailsCache,
+                    Duration.ofMillis(productDetailsCacheRefreshAhead),
+                    productDetailsRefreshExecutor());
+        }
+        // Closed with the bean, which closes every decorator that owns threads down the chain
+        return similarProductsClient;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "clients.similar_products.warm_up.enabled", havingValue = "true")
+    public SimilarProductsCacheWarmer similarProductsCacheWarmer(
+            SimilarProductsClient similarProductsClient, Cache<String, Product> productDetailsCache) {
+        return new SimilarProductsCacheWarmer(
+                similarProductsClient,
+                productDetailsCache,
+                warmUpHotProductsFile.isBlank() ? null : Path.of(warmUpHotProductsFile),
+                warmUpSnapshotFile.isBlank() ? null : Path.of(warmUpSnapshotFile),
+                warmUpSnapshotSize,
+                Duration.ofMillis(warmUpTimeout),
+                warmUpMaxConcurrency);
+    }
+
+    private ExecutorService productDetailsRefreshExecutor() {
+        // Few low priority threads and a bounded queue: refreshes that do not fit are dropped rather than
+        // competing with user requests, the entry is then loaded again on its first request after expiring
+        return new ThreadPoolExecutor(
+                productDetailsRefreshThreads,
+                productDetailsRefreshThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(productDetailsRefreshQueueSize),
+                Thread.ofPlatform()
+                        .name("product-details-refresh-", 0)
+                        .daemon(true)
+                        .priority(Thread.MIN_PRIORITY)
+                        .factory());
     }
 }
\ No newline at end of file
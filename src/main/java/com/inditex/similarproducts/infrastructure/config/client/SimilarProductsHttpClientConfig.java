@@ -0,0 +1,116 @@
+package com.inditex.similarproducts.infrastructure.config.client;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class SimilarProductsHttpClientConfig {
+
+    private static final String HTTP2 = "clients.similar_products.http.http2";
+
+    @Value("${clients.similar_products.http.max_connections}")
+    private int maxConnections;
+
+    @Value("${clients.similar_products.http.connect_timeout}")
+    private long connectTimeout;
+
+    @Value("${clients.similar_products.http.read_timeout}")
+    private long readTimeout;
+
+    @Value("${clients.similar_products.http.pool_acquire_timeout}")
+    private long poolAcquireTimeout;
+
+    @Value("${clients.similar_products.http.keep_alive}")
+    private long keepAlive;
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2, havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager similarProductsConnectionManager(MeterRegistry meterRegistry) {
+        // All calls go to the same upstream host, so a single route may use the whole pool
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "similar_products")
+                .bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2, havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory pooledClientHttpRequestFactory(
+            PoolingHttpClientConnectionManager similarProductsConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                // Used when the upstream does not send a Keep-Alive header
+                .setConnectionKeepAlive(TimeValue.ofMilliseconds(keepAlive))
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(similarProductsConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAlive))
+                .evictExpiredConnections()
+                .build();
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setHttpContextFactory((method, uri) -> deadlineBoundContext(requestConfig));
+        return requestFactory;
+    }
+
+    private HttpContext deadlineBoundContext(RequestConfig requestConfig) {
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return null;
+        }
+
+        // The response timeout never exceeds what is left of the request deadline, a zero timeout would mean infinite
+        long remaining = Math.max(1, Math.min(readTimeout, deadline.remaining().toMillis()));
+        HttpClientContext context = HttpClientContext.create();
+        context.setRequestConfig(RequestConfig.copy(requestConfig)
+                .setResponseTimeout(Timeout.ofMilliseconds(remaining))
+                .build());
+        return context;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = HTTP2, havingValue = "true")
+    public ClientHttpRequestFactory http2ClientHttpRequestFactory() {
+        // HTTP/2 multiplexes requests over a few connections, so there is no pool to size or acquire from
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeout));
+        return requestFactory;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.inditex.similarproducts.infrastructure.config.client;
+
+import com.inditex.similarproducts.infrastructure.client.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+import static com.inditex.similarproducts.infrastructure.client.SimilarProductsClientImpl.PRODUCT_DETAILS;
+import static com.inditex.similarproducts.infrastructure.client.SimilarProductsClientImpl.SIMILAR_IDS;
+
+@Slf4j
+@Configuration
+public class SimilarProductsResilienceConfig {
+
+    @Value("${clients.similar_products.circuit_breaker.failure_rate_threshold}")
+    private float failureRateThreshold;
+
+    @Value("${clients.similar_products.circuit_breaker.sliding_window_size}")
+    private int slidingWindowSize;
+
+    @Value("${clients.similar_products.circuit_breaker.minimum_number_of_calls}")
+    private int minimumNumberOfCalls;
+
+    @Value("${clients.similar_products.circuit_breaker.wait_duration_in_open_state}")
+    private long waitDurationInOpenState;
+
+    @Value("${clients.similar_products.circuit_breaker.permitted_calls_in_half_open_state}")
+    private int permittedCallsInHalfOpenState;
+
+    @Value("${clients.similar_products.bulkhead.similar_ids.max_concurrent_calls}")
+    private int similarIdsMaxConcurrentCalls;
+
+    @Value("${clients.similar_products.bulkhead.product_details.max_concurrent_calls}")
+    private int productDetailsMaxConcurrentCalls;
+
+    @Value("${clients.similar_products.bulkhead.max_wait_duration}")
+    private long bulkheadMaxWaitDuration;
+
+    @Value("${clients.similar_products.concurrency_limit.enabled}")
+    private boolean concurrencyLimitEnabled;
+
+    @Value("${clients.similar_products.concurrency_limit.min_limit}")
+    private int concurrencyMinLimit;
+
+    @Value("${clients.similar_products.concurrency_limit.max_limit}")
+    private int concurrencyMaxLimit;
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        // Client errors such as a 404 and bulkhead rejections say nothing about the health of the upstream
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(Duration.ofMillis(waitDurationInOpenState))
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .ignoreExceptions(HttpClientErrorException.class, BulkheadFullException.class)
+                .build();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(circuitBreakerConfig);
+        circuitBreakerRegistry.getEventPublisher().onEntryAdded(event ->
+                exportStateTransitions(event.getAddedEntry(), meterRegistry));
+        circuitBreakerRegistry.circuitBreaker(SIMILAR_IDS);
+        circuitBreakerRegistry.circuitBreaker(PRODUCT_DETAILS);
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        return circuitBreakerRegistry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        bulkheadRegistry.getEventPublisher().onEntryAdded(event ->
+                exportRejections(event.getAddedEntry(), meterRegistry));
+        bulkheadRegistry.bulkhead(SIMILAR_IDS, bulkheadConfig(similarIdsMaxConcurrentCalls));
+        bulkheadRegistry.bulkhead(PRODUCT_DETAILS, bulkheadConfig(productDetailsMaxConcurrentCalls));
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        return bulkheadRegistry;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter concurrencyLimiter(MeterRegistry meterRegistry) {
+        if (!concurrencyLimitEnabled) {
+            return AdaptiveConcurrencyLimiter.disabled();
+        }
+        return new AdaptiveConcurrencyLimiter(concurrencyMinLimit, concurrencyMaxLimit, meterRegistry);
+    }
+
+    private BulkheadConfig bulkheadConfig(int maxConcurrentCalls) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(bulkheadMaxWaitDuration))
+                .build();
+    }
+
+    private static void exportStateTransitions(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            log.warn("Circuit breaker {} changed from {} to {}", circuitBreaker.getName(),
+                    event.getStateTransition().getFromState(), event.getStateTransition().getToState());
+            Counter.builder("resilience4j.circuitbreaker.state.transitions")
+                    .description("Circuit breaker state transitions")
+                    .tag("name", circuitBreaker.getName())
+                    .tag("from", event.getStateTransition().getFromState().name().toLowerCase())
+                    .tag("to", event.getStateTransition().getToState().name().toLowerCase())
+                    .register(meterRegistry)
+                    .increment();
+        });
+    }
+
+    private static void exportRejections(Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        Counter rejectedCalls = Counter.builder("resilience4j.bulkhead.rejected.calls")
+                .description("Calls rejected because the bulkhead was full")
+                .tag("name", bulkhead.getName())
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejectedCalls.increment());
+    }
+}
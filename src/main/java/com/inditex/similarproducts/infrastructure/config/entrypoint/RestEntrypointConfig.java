@@ -0,0 +1,111 @@
+package com.inditex.similarproducts.infrastructure.config.entrypoint;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.AdmissionControlInterceptor;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.SimilarProductsResponseCacheFilter;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.JacksonCborEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class RestEntrypointConfig {
+
+    @Value("${entrypoint.rest.similar_products.response_cache.max_size}")
+    private long responseCacheMaxSize;
+
+    @Value("${entrypoint.rest.similar_products.response_cache.time_to_live}")
+    private long responseCacheTimeToLive;
+
+    @Value("${entrypoint.rest.admission_control.max_concurrent_requests}")
+    private int admissionMaxConcurrentRequests;
+
+    @Value("${entrypoint.rest.admission_control.max_queue_time}")
+    private long admissionMaxQueueTime;
+
+    @Value("${entrypoint.rest.admission_control.retry_after}")
+    private long admissionRetryAfter;
+
+    @Bean
+    // Response caching and admission control are servlet filters and interceptors, so only the blocking stack has them
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "entrypoint.rest.similar_products.response_cache.enabled", havingValue = "true")
+    public FilterRegistrationBean<SimilarProductsResponseCacheFilter> similarProductsResponseCacheFilter(
+            MeterRegistry meterRegistry) {
+        SimilarProductsResponseCacheFilter filter = new SimilarProductsResponseCacheFilter(Caffeine.newBuilder()
+                .maximumSize(responseCacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(responseCacheTimeToLive))
+                .recordStats());
+        CaffeineCacheMetrics.monitor(meterRegistry, filter.getResponseCache(), "similar_products_responses");
+
+        FilterRegistrationBean<SimilarProductsResponseCacheFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/product/*");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(name = "entrypoint.rest.admission_control.enabled", havingValue = "true")
+    public WebMvcConfigurer admissionControl(MeterRegistry meterRegistry) {
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+                admissionMaxConcurrentRequests,
+                Duration.ofMillis(admissionMaxQueueTime),
+                Duration.ofSeconds(admissionRetryAfter),
+                meterRegistry);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/product/**");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    // Tomcat is on the classpath for the blocking stack and would otherwise be picked to run WebFlux as well
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFluxConfigurer blockingExecution() {
+        // Handlers without a reactive return type, such as the batch endpoint, run on virtual threads instead of
+        // blocking an event loop thread
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("blocking-handler-");
+        executor.setVirtualThreads(true);
+        return new WebFluxConfigurer() {
+            @Override
+            public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+                configurer.setExecutor(executor);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    // Spring MVC writes CBOR with Jackson out of the box, Spring WebFlux only once its encoder is registered. Custom
+    // codecs come before the default ones, so JSON is registered first to stay the representation of */*
+    public CodecCustomizer cborCodec(ObjectMapper objectMapper) {
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().register(new JacksonCborEncoder());
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Admits at most a fixed number of concurrent requests, and lets the others queue only briefly: a request that cannot
+// be admitted within the max queue time is rejected with a 503, and until the Retry-After interval has passed the
+// requests that find no free slot are rejected right away instead of queueing. Shedding the excess early keeps the
+// admitted requests within their latency budget, instead of every request queueing in Tomcat until it times out
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMITTED = AdmissionControlInterceptor.class.getName() + ".admitted";
+
+    private final int maxConcurrentRequests;
+    private final Semaphore permits;
+    private final long maxQueueTimeNanos;
+    private final Duration retryAfter;
+    private final Timer queueingTime;
+    private final Counter rejectedRequests;
+    private volatile long overloadedUntil = System.nanoTime();
+
+    public AdmissionControlInterceptor(
+            int maxConcurrentRequests, Duration maxQueueTime, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxQueueTimeNanos = maxQueueTime.toNanos();
+        this.retryAfter = retryAfter;
+        this.queueingTime = Timer.builder("http.server.admission.queueing")
+                .description("Time admitted requests waited for a free slot")
+                .register(meterRegistry);
+        this.rejectedRequests = Counter.builder("http.server.admission.rejected")
+                .description("Requests rejected with a 503 because the service was overloaded")
+                .register(meterRegistry);
+        Gauge.builder("http.server.admission.active", this, AdmissionControlInterceptor::getActiveRequests)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        // Async dispatches belong to a request that was already admitted
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        long arrivedAt = System.nanoTime();
+        boolean admitted = permits.tryAcquire()
+                || arrivedAt - overloadedUntil >= 0 && permits.tryAcquire(maxQueueTimeNanos, TimeUnit.NANOSECONDS);
+        if (!admitted) {
+            overloadedUntil = System.nanoTime() + retryAfter.toNanos();
+            rejectedRequests.increment();
+            throw new ServiceOverloadedException("Service overloaded, please retry later", retryAfter);
+        }
+
+        queueingTime.record(System.nanoTime() - arrivedAt, TimeUnit.NANOSECONDS);
+        request.setAttribute(ADMITTED, Boolean.TRUE);
+        return true;
+    }
+
+    // Streamed responses free their slot once the request thread is released
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+        release(request);
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        release(request);
+    }
+
+    public int getActiveRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    private void release(HttpServletRequest request) {
+        if (request.getAttribute(ADMITTED) != null) {
+            request.removeAttribute(ADMITTED);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsStream;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.SimilarProductsResponse;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.error.ErrorResponse;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Servlet stack of the similar products endpoint, the batch one is shared by both stacks in ProductController
+@RestController
+@RequestMapping("/product")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(
+        name = "Product",
+        description = "API for retrieving similar products"
+)
+@RequiredArgsConstructor
+public class BlockingProductController {
+
+    static final String PARTIAL_RESULT_HEADER = "X-Partial-Result";
+
+    private final GetSimilarProductsUseCase getSimilarProductsUseCase;
+    private final ProductMapper productMapper;
+
+    @Value("${entrypoint.rest.similar_products.latency_budget}")
+    private long latencyBudget;
+
+    @SimilarProductsOperation
+    // Admission control only guards the blocking stack
+    @ApiResponse(
+            responseCode = "503",
+            description = "Service overloaded, the request was rejected without being processed",
+            headers = {
+                    @Header(
+                            name = "Retry-After",
+                            description = "Seconds to wait before retrying",
+                            schema = @Schema(type = "integer")
+                    )
+            },
+            content = {
+                    @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(
+                                    implementation = ErrorResponse.class,
+                                    example = """
+                                    {
+                                        "message": "Service overloaded, please retry later"
+                                    }
+                                    """
+                            )
+                    )
+            }
+    )
+    @GetMapping("/{productId}/similar")
+    public ResponseEntity<SimilarProductsResponse> getSimilarProducts(
+            @Parameter(
+                    description = "The ID of the product to retrieve similar products for",
+                    example = "123",
+                    required = true
+            )
+            @PathVariable String productId) {
+        Deadline deadline = Deadline.after(Duration.ofMillis(latencyBudget));
+        SimilarProducts result = getSimilarProductsUseCase.getSimilarProducts(productId, deadline);
+        SimilarProductsResponse similarProducts = new SimilarProductsResponse(result.getProducts());
+
+        if (result.isPartial()) {
+            return ResponseEntity.ok()
+                    .header(PARTIAL_RESULT_HEADER, "true")
+                    .body(similarProducts);
+        }
+        return ResponseEntity.ok(similarProducts);
+    }
+
+    @StreamSimilarProductsOperation
+    @GetMapping(
+            value = "/{productId}/similar",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE}
+    )
+    public Flux<ProductResponseDTO> streamSimilarProducts(
+            @Parameter(
+                    description = "The ID of the product to retrieve similar products for",
+                    example = "123",
+                    required = true
+            )
+            @PathVariable String productId) {
+        // Resolved on the request thread, so a missing product is still answered with a 404 before streaming starts
+        Deadline deadline = Deadline.after(Duration.ofMillis(latencyBudget));
+        SimilarProductsStream similarProducts = getSimilarProductsUseCase.streamSimilarProducts(productId, deadline);
+
+        return Flux.<ProductResponseDTO>create(sink -> {
+                    // A client that goes away interrupts the fan-out, so its pending upstream calls are cancelled
+                    AtomicReference<Thread> worker = new AtomicReference<>(Thread.currentThread());
+                    sink.onCancel(() -> {
+                        synchronized (worker) {
+                            Thread thread = worker.getAndSet(null);
+                            if (thread != null) {
+                                thread.interrupt();
+                            }
+                        }
+                    });
+                    try {
+                        similarProducts.forEach(product -> {
+                            if (!sink.isCancelled()) {
+                                sink.next(productMapper.toResponseDTO(product));
+                            }
+                        });
+                        sink.complete();
+                    } catch (RuntimeException e) {
+                        if (!sink.isCancelled()) {
+                            sink.error(e);
+                        }
+                    } finally {
+                        synchronized (worker) {
+                            if (worker.getAndSet(null) == null) {
+                                // The interrupt was meant for the fan-out only, the pooled thread is handed back clean
+                                Thread.interrupted();
+                            }
+                        }
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
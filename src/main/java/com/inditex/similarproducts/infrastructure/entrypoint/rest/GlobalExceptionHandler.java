@@ -3,11 +3,14 @@ package com.inditex.similarproducts.infrastructure.entrypoint.rest;
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
 import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.error.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -24,12 +27,32 @@ public class GlobalExceptionHandler {
         return new ErrorResponse(exception.getMessage());
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ErrorResponse handle(InvalidRequestException exception) {
+        return new ErrorResponse(exception.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    ResponseEntity<ErrorResponse> handle(ServiceOverloadedException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter().toSeconds()))
+                .body(new ErrorResponse(exception.getMessage()));
+    }
+
     @ExceptionHandler(SimilarProductsFetchingException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     ErrorResponse handle(SimilarProductsFetchingException exception) {
         return new ErrorResponse(exception.getMessage());
     }
 
+    // Spring WebFlux reports bad requests and unknown paths with these, which Spring MVC answers with its own statuses
+    @ExceptionHandler(ResponseStatusException.class)
+    ResponseEntity<ErrorResponse> handle(ResponseStatusException exception) {
+        return ResponseEntity.status(exception.getStatusCode())
+                .body(new ErrorResponse(exception.getReason()));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     ErrorResponse handle(RuntimeException exception) {
@@ -0,0 +1,9 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+// A request the client has to correct, its message is returned to the client as is
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
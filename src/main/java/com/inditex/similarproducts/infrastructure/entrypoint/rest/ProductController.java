@@ -1,26 +1,36 @@
 package com.inditex.similarproducts.infrastructure.entrypoint.rest;
 
-import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
-import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsBatch;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsBatchUseCase;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.SimilarProductsBatchEntryDTO;
 import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.error.ErrorResponse;
 import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+// Served by both stacks. On the reactive one, Spring WebFlux runs this blocking handler on the executor configured in
+// RestEntrypointConfig, so it does not hold up an event loop thread
 @RestController
 @RequestMapping("/product")
 @Tag(
@@ -30,35 +40,41 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ProductController {
 
-    private final GetSimilarProductsUseCase getSimilarProductsUseCase;
+    private final GetSimilarProductsBatchUseCase getSimilarProductsBatchUseCase;
     private final ProductMapper productMapper;
 
+    @Value("${entrypoint.rest.similar_products.latency_budget}")
+    private long latencyBudget;
+
+    @Value("${entrypoint.rest.similar_products.batch.max_size}")
+    private int batchMaxSize;
+
     @Operation(
-            summary = "Retrieve similar products",
-            description = "Returns a list of similar products for a given product ID"
+            summary = "Retrieve similar products of several products",
+            description = "Returns the similar products of each of the given product IDs. Products shared by "
+                    + "several of them are only retrieved once, and a product ID without similar products does "
+                    + "not fail the whole request"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of similar products successfully retrieved",
-                    content = {
-                            @Content(
-                                    mediaType = "application/json",
-                                    array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))
-                            )
-                    }
-            ),
-            @ApiResponse(
-                    responseCode = "404",
-                    description = "Product not found",
+                    description = "Similar products of each product ID, keyed by product ID",
                     content = {
                             @Content(
                                     mediaType = "application/json",
                                     schema = @Schema(
-                                            implementation = ErrorResponse.class,
                                             example = """
                                             {
-                                                "message": "No similar products found for productId: 123"
+                                                "1": {
+                                                    "status": 200,
+                                                    "products": [
+                                                        {"id": "2", "name": "Dress", "price": 19.99, "availability": true}
+                                                    ]
+                                                },
+                                                "123": {
+                                                    "status": 404,
+                                                    "message": "No similar products found for productId: 123"
+                                                }
                                             }
                                             """
                                     )
@@ -67,7 +83,7 @@ public class ProductController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Bad request due to invalid input or client error",
+                    description = "Bad request due to a missing or too large list of product IDs",
                     content = {
                             @Content(
                                     mediaType = "application/json",
@@ -75,24 +91,7 @@ public class ProductController {
                                             implementation = ErrorResponse.class,
                                             example = """
                                             {
-                                                "message": "ProductId is a required field and cannot be empty."
-                                            }
-                                            """
-                                    )
-                            )
-                    }
-            ),
-            @ApiResponse(
-                    responseCode = "500",
-                    description = "Internal server error",
-                    content = {
-                            @Content(
-                                    mediaType = "application/json",
-                                    schema = @Schema(
-                                            implementation = ErrorResponse.class,
-                                            example = """
-                                            {
-                                                "message": "Internal server error, please try later"
+                                                "message": "At most 50 product IDs can be requested at once"
                                             }
                                             """
                                     )
@@ -100,19 +99,46 @@ public class ProductController {
                     }
             )
     })
-    @GetMapping("/{productId}/similar")
-    public ResponseEntity<List<ProductResponseDTO>> getSimilarProducts(
+    @GetMapping("/similar")
+    public ResponseEntity<Map<String, SimilarProductsBatchEntryDTO>> getSimilarProductsBatch(
             @Parameter(
-                    description = "The ID of the product to retrieve similar products for",
-                    example = "123",
+                    description = "Comma separated IDs of the products to retrieve similar products for",
+                    example = "1,2,3",
                     required = true
             )
-            @PathVariable String productId) {
-        List<ProductResponseDTO> similarProducts = getSimilarProductsUseCase.getSimilarProducts(productId)
-                .stream()
-                .map(productMapper::toResponseDTO)
-                .toList();
+            @RequestParam List<String> productIds) {
+        if (productIds.isEmpty()) {
+            throw new InvalidRequestException("At least one product ID must be requested");
+        }
+        if (productIds.size() > batchMaxSize) {
+            throw new InvalidRequestException(
+                    "At most " + batchMaxSize + " product IDs can be requested at once");
+        }
+
+        Deadline deadline = Deadline.after(Duration.ofMillis(latencyBudget));
+        SimilarProductsBatch result = getSimilarProductsBatchUseCase.getSimilarProducts(productIds, deadline);
 
-        return ResponseEntity.ok(similarProducts);
+        // Entries follow the order the IDs were requested in, whether they succeeded or failed
+        Map<String, SimilarProductsBatchEntryDTO> entries = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            SimilarProducts similarProducts = result.getSimilarProducts().get(productId);
+            RuntimeException failure = result.getFailures().get(productId);
+            if (similarProducts != null) {
+                entries.putIfAbsent(productId, new SimilarProductsBatchEntryDTO(
+                        HttpStatus.OK.value(),
+                        similarProducts.getProducts().stream().map(productMapper::toResponseDTO).toList(),
+                        similarProducts.isPartial() ? Boolean.TRUE : null,
+                        null));
+            } else if (failure != null) {
+                entries.putIfAbsent(productId, new SimilarProductsBatchEntryDTO(
+                        failure instanceof SimilarProductsNotFoundException
+                                ? HttpStatus.NOT_FOUND.value()
+                                : HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                        null,
+                        null,
+                        failure.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(entries);
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.usecases.ReactiveGetSimilarProductsUseCase;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.SimilarProductsResponse;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Reactive stack of the similar products endpoint, only served when the application runs on Spring WebFlux
+@RestController
+@RequestMapping("/product")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(
+        name = "Product",
+        description = "API for retrieving similar products"
+)
+@RequiredArgsConstructor
+public class ReactiveProductController {
+
+    private final ReactiveGetSimilarProductsUseCase getSimilarProductsUseCase;
+    private final ProductMapper productMapper;
+
+    @Value("${entrypoint.rest.similar_products.latency_budget}")
+    private long latencyBudget;
+
+    @SimilarProductsOperation
+    @GetMapping("/{productId}/similar")
+    public Mono<ResponseEntity<SimilarProductsResponse>> getSimilarProducts(
+            @Parameter(
+                    description = "The ID of the product to retrieve similar products for",
+                    example = "123",
+                    required = true
+            )
+            @PathVariable String productId) {
+        Deadline deadline = Deadline.after(Duration.ofMillis(latencyBudget));
+
+        // Errors are signalled through the Mono and mapped by GlobalExceptionHandler, like in BlockingProductController
+        return getSimilarProductsUseCase.getSimilarProducts(productId, deadline)
+                .map(result -> {
+                    SimilarProductsResponse similarProducts = new SimilarProductsResponse(result.getProducts());
+                    if (result.isPartial()) {
+                        return ResponseEntity.ok()
+                                .header(BlockingProductController.PARTIAL_RESULT_HEADER, "true")
+                                .body(similarProducts);
+                    }
+                    return ResponseEntity.ok(similarProducts);
+                });
+    }
+
+    @StreamSimilarProductsOperation
+    @GetMapping(
+            value = "/{productId}/similar",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE}
+    )
+    public Flux<ProductResponseDTO> streamSimilarProducts(
+            @Parameter(
+                    description = "The ID of the product to retrieve similar products for",
+                    example = "123",
+                    required = true
+            )
+            @PathVariable String productId) {
+        Deadline deadline = Deadline.after(Duration.ofMillis(latencyBudget));
+
+        // Nothing is written before the first product, so a missing product is still answered with a 404
+        return getSimilarProductsUseCase.streamSimilarProducts(productId, deadline)
+                .map(productMapper::toResponseDTO);
+    }
+}
@@ -0,0 +1,102 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.error.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// OpenAPI documentation of GET /product/{productId}/similar, shared by the blocking and reactive stacks
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Operation(
+        summary = "Retrieve similar products",
+        description = "Returns a list of similar products for a given product ID"
+)
+@ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "List of similar products successfully retrieved",
+                headers = {
+                        @Header(
+                                name = BlockingProductController.PARTIAL_RESULT_HEADER,
+                                description = "Present with value true when the latency budget ran out and "
+                                        + "only the products resolved in time are returned",
+                                schema = @Schema(type = "boolean")
+                        )
+                },
+                content = {
+                        @Content(
+                                mediaType = "application/json",
+                                array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))
+                        ),
+                        @Content(
+                                mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                                array = @ArraySchema(schema = @Schema(implementation = ProductResponseDTO.class))
+                        )
+                }
+        ),
+        @ApiResponse(
+                responseCode = "404",
+                description = "Product not found",
+                content = {
+                        @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(
+                                        implementation = ErrorResponse.class,
+                                        example = """
+                                        {
+                                            "message": "No similar products found for productId: 123"
+                                        }
+                                        """
+                                )
+                        )
+                }
+        ),
+        @ApiResponse(
+                responseCode = "400",
+                description = "Bad request due to invalid input or client error",
+                content = {
+                        @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(
+                                        implementation = ErrorResponse.class,
+                                        example = """
+                                        {
+                                            "message": "ProductId is a required field and cannot be empty."
+                                        }
+                                        """
+                                )
+                        )
+                }
+        ),
+        @ApiResponse(
+                responseCode = "500",
+                description = "Internal server error",
+                content = {
+                        @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(
+                                        implementation = ErrorResponse.class,
+                                        example = """
+                                        {
+                                            "message": "Internal server error, please try later"
+                                        }
+                                        """
+                                )
+                        )
+                }
+        )
+})
+public @interface SimilarProductsOperation {
+}
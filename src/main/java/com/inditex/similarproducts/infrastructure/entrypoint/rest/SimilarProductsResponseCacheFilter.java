@@ -0,0 +1,176 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Keeps the encoded JSON or CBOR of complete similar products responses, so requests for hot products are answered
+// without mapping and serializing them again, and revalidated with a 304 when the client already has them
+public class SimilarProductsResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Pattern SIMILAR_PRODUCTS_PATH = Pattern.compile("/product/([^/]+)/similar");
+
+    @Getter
+    private final Cache<String, CachedResponse> responseCache;
+
+    public SimilarProductsResponseCacheFilter(Caffeine<Object, Object> cacheBuilder) {
+        this.responseCache = cacheBuilder.build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Streaming responses are written as they are produced and are never cached
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return !HttpMethod.GET.matches(request.getMethod())
+                || productId(request) == null
+                || accept != null && (accept.contains(MediaType.APPLICATION_NDJSON_VALUE)
+                        || accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // The same URL has a JSON and a CBOR representation, so shared caches must keep them apart too
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        MediaType representation = representation(request);
+        if (representation == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String cacheKey = productId(request) + " " + representation;
+        CachedResponse cachedResponse = responseCache.getIfPresent(cacheKey);
+        if (cachedResponse != null) {
+            write(request, response, cachedResponse);
+            return;
+        }
+
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (isCacheable(responseWrapper, representation)) {
+            byte[] body = responseWrapper.getContentAsByteArray();
+            cachedResponse = new CachedResponse(body, responseWrapper.getContentType(), etag(body));
+            responseCache.put(cacheKey, cachedResponse);
+
+            responseWrapper.setHeader(HttpHeaders.ETAG, cachedResponse.getEtag());
+            if (matches(request, cachedResponse.getEtag())) {
+                responseWrapper.resetBuffer();
+                responseWrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            }
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private static void write(HttpServletRequest request, HttpServletResponse response, CachedResponse cachedResponse)
+            throws IOException {
+        response.setHeader(HttpHeaders.ETAG, cachedResponse.getEtag());
+        if (matches(request, cachedResponse.getEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cachedResponse.getContentType());
+        response.setContentLength(cachedResponse.getBody().length);
+        response.getOutputStream().write(cachedResponse.getBody());
+    }
+
+    // Only complete answers in the expected representation are cached, partial results and errors are produced
+    // again on the next request
+    private static boolean isCacheable(ContentCachingResponseWrapper response, MediaType representation) {
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && response.getHeader(BlockingProductController.PARTIAL_RESULT_HEADER) == null
+                && response.getContentType() != null
+                && representation.isCompatibleWith(MediaType.parseMediaType(response.getContentType()));
+    }
+
+    private static boolean matches(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // If-None-Match uses the weak comparison, so the W/ prefix is ignored on both sides
+        String opaqueTag = opaqueTag(etag);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(candidate -> candidate.equals("*") || opaqueTag(candidate).equals(opaqueTag));
+    }
+
+    // Weak, since the bytes sent differ once the response is compressed, and Tomcat does not compress responses
+    // carrying a strong ETag
+    private static String etag(byte[] body) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    // Resolves the representation the controller will negotiate, so entries are keyed by it rather than by the
+    // Accept header as sent: CBOR when the client prefers it explicitly, JSON for anything that accepts JSON,
+    // including */*, and none for anything else. Among equal qualities the first listed wins, as in Spring MVC
+    private static MediaType representation(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        MediaType representation = null;
+        double bestQuality = 0;
+        for (MediaType acceptedType : acceptedTypes) {
+            double quality = acceptedType.getQualityValue();
+            if (quality <= bestQuality) {
+                continue;
+            }
+            if (acceptedType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                representation = MediaType.APPLICATION_CBOR;
+                bestQuality = quality;
+            } else if (acceptedType.includes(MediaType.APPLICATION_JSON)) {
+                representation = MediaType.APPLICATION_JSON;
+                bestQuality = quality;
+            }
+        }
+        return representation;
+    }
+
+    private static String productId(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = SIMILAR_PRODUCTS_PATH.matcher(path);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    @Getter
+    static class CachedResponse {
+
+        private final byte[] body;
+        private final String contentType;
+        private final String etag;
+
+        CachedResponse(byte[] body, String contentType, String etag) {
+            this.body = body;
+            this.contentType = contentType;
+            this.etag = etag;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.error.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// OpenAPI documentation of the NDJSON and SSE representations of GET /product/{productId}/similar, shared by the
+// blocking and reactive stacks
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Operation(
+        summary = "Stream similar products",
+        description = "Streams the similar products of a given product ID, writing each product as soon as "
+                + "its details are retrieved. Selected by requesting application/x-ndjson or text/event-stream"
+)
+@ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "Similar products, in the order their details were retrieved",
+                content = {
+                        @Content(
+                                mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                schema = @Schema(implementation = ProductResponseDTO.class)
+                        ),
+                        @Content(
+                                mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                                schema = @Schema(implementation = ProductResponseDTO.class)
+                        )
+                }
+        ),
+        @ApiResponse(
+                responseCode = "404",
+                description = "Product not found",
+                content = {
+                        @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorResponse.class)
+                        )
+                }
+        ),
+        @ApiResponse(
+                responseCode = "500",
+                description = "Internal server error",
+                content = {
+                        @Content(
+                                mediaType = "application/json",
+                                schema = @Schema(implementation = ErrorResponse.class)
+                        )
+                }
+        )
+})
+public @interface StreamSimilarProductsOperation {
+}
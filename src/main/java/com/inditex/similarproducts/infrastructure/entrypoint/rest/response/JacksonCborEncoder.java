@@ -0,0 +1,23 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest.response;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+// Jackson2CborEncoder only encodes single values through encodeValue and rejects any publisher, which is how Spring
+// WebFlux hands it response bodies. Each value is encoded on its own, so a Flux is written as a CBOR sequence
+public class JacksonCborEncoder extends Jackson2CborEncoder {
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                   ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+        return Flux.from(inputStream)
+                .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+    }
+}
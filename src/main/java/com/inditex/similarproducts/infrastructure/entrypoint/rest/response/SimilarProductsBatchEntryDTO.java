@@ -0,0 +1,36 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Similar products of one of the product IDs of a batch request")
+public class SimilarProductsBatchEntryDTO {
+    @Schema(
+            description = "HTTP status the single product endpoint would have returned for this product ID",
+            example = "200"
+    )
+    private int status;
+
+    @Schema(description = "Similar products, present when the status is 200")
+    private List<ProductResponseDTO> products;
+
+    @Schema(
+            description = "Present with value true when the latency budget ran out and only the products "
+                    + "resolved in time are returned",
+            example = "true"
+    )
+    private Boolean partial;
+
+    @Schema(
+            description = "Error message, present when the status is not 200",
+            example = "No similar products found for productId: 123"
+    )
+    private String message;
+}
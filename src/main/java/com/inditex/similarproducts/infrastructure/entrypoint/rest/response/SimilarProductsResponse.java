@@ -0,0 +1,16 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.inditex.similarproducts.domain.models.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// Body of the similar products endpoint, written as a JSON array of products straight from the domain model
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = SimilarProductsResponseSerializer.class)
+public class SimilarProductsResponse {
+    private List<Product> products;
+}
@@ -0,0 +1,33 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.inditex.similarproducts.domain.models.Product;
+
+import java.io.IOException;
+
+// Writes the products with the generator directly, in the same shape and field order as ProductResponseDTO, so the
+// response path neither copies every product into a DTO nor goes through reflective bean serialization.
+// Prices are written as the same BigDecimal, which keeps the output byte for byte identical
+public class SimilarProductsResponseSerializer extends StdSerializer<SimilarProductsResponse> {
+
+    public SimilarProductsResponseSerializer() {
+        super(SimilarProductsResponse.class);
+    }
+
+    @Override
+    public void serialize(SimilarProductsResponse response, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartArray(response, response.getProducts().size());
+        for (Product product : response.getProducts()) {
+            generator.writeStartObject();
+            generator.writeStringField("id", product.getId());
+            generator.writeStringField("name", product.getName());
+            generator.writeNumberField("price", product.getPrice());
+            generator.writeBooleanField("availability", product.isAvailability());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
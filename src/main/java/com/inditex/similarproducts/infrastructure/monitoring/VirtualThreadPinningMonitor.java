@@ -0,0 +1,70 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Streams the JFR events of virtual threads that blocked while pinned to their carrier thread, for example inside a
+// synchronized block or a native frame. Every pinning is counted and timed, and each distinct place it happens at
+// is logged once with its stack, since a pinned virtual thread holds a carrier that others cannot run on
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream recordingStream;
+    private final Counter pinnedThreads;
+    private final Timer pinnedTime;
+    private final Set<String> reportedStacks = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.pinnedThreads = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    }
+
+    public void start() {
+        recordingStream.startAsync();
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedThreads.increment();
+        pinnedTime.record(event.getDuration());
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        String stack = event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (reportedStacks.add(stack)) {
+            log.warn("Virtual thread pinned for {} ms at\n{}", event.getDuration().toMillis(), stack);
+        }
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
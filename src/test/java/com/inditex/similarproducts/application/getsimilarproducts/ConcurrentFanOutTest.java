@@ -0,0 +1,136 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.models.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentFanOutTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldKeepResultsInTheSameOrderAsTheItems() {
+        // GIVEN
+        FanOut fanOut = new ConcurrentFanOut(executor, 4);
+        List<Integer> delays = List.of(50, 10, 30, 0);
+
+        // WHEN
+        List<String> result = fanOut.map(delays, delay -> {
+            sleep(delay);
+            return "item-" + delay;
+        });
+
+        // THEN
+        assertEquals(List.of("item-50", "item-10", "item-30", "item-0"), result);
+    }
+
+    @Test
+    void shouldNotExceedMaxConcurrency() {
+        // GIVEN
+        FanOut fanOut = new ConcurrentFanOut(executor, 2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // WHEN
+        fanOut.map(List.of(1, 2, 3, 4, 5, 6), item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(20);
+            inFlight.decrementAndGet();
+            return item;
+        });
+
+        // THEN
+        assertTrue(maxInFlight.get() <= 2);
+    }
+
+    @Test
+    void shouldPropagateExceptionThrownByCall() {
+        // GIVEN
+        FanOut fanOut = new ConcurrentFanOut(executor, 4);
+
+        // WHEN & THEN
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                fanOut.map(List.of("ok", "fail"), item -> {
+                    if (item.equals("fail")) {
+                        throw new IllegalArgumentException("Upstream error");
+                    }
+                    return item;
+                })
+        );
+
+        assertEquals("Upstream error", exception.getMessage());
+    }
+
+    @Test
+    void shouldAbandonCallsThatOutliveTheDeadline() {
+        // GIVEN
+        FanOut fanOut = new ConcurrentFanOut(executor, 4);
+        List<Integer> delays = List.of(0, 1000, 10);
+
+        // WHEN
+        List<String> result = fanOut.map(delays, delay -> {
+            sleep(delay);
+            return "item-" + delay;
+        }, Deadline.after(Duration.ofMillis(200)));
+
+        // THEN
+        assertEquals(Arrays.asList("item-0", null, "item-10"), result);
+    }
+
+    @Test
+    void shouldHandOverResultsInCompletionOrder() {
+        // GIVEN
+        FanOut fanOut = new ConcurrentFanOut(executor, 4);
+        List<Integer> delays = List.of(150, 0, 75);
+        List<String> result = new ArrayList<>();
+
+        // WHEN
+        fanOut.forEachCompleted(delays, delay -> {
+            sleep(delay);
+            return "item-" + delay;
+        }, result::add, Deadline.none());
+
+        // THEN
+        assertEquals(List.of("item-0", "item-75", "item-150"), result);
+    }
+
+    @Test
+    void shouldNotHandOverResultsOfCallsThatOutliveTheDeadline() {
+        // GIVEN
+        FanOut fanOut = new ConcurrentFanOut(executor, 1);
+        List<Integer> delays = List.of(10, 1000, 10);
+        List<String> result = new ArrayList<>();
+
+        // WHEN
+        fanOut.forEachCompleted(delays, delay -> {
+            sleep(delay);
+            return "item-" + delay;
+        }, result::add, Deadline.after(Duration.ofMillis(200)));
+
+        // THEN
+        assertEquals(List.of("item-10"), result);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
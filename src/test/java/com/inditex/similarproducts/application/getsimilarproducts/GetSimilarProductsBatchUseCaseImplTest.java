@@ -0,0 +1,89 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsTimeoutException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProductsBatch;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsBatchUseCase;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GetSimilarProductsBatchUseCaseImplTest {
+
+    private final SimilarProductsClient similarProductsClient = mock(SimilarProductsClient.class);
+    private final GetSimilarProductsBatchUseCase getSimilarProductsBatchUseCase =
+            new GetSimilarProductsBatchUseCaseImpl(similarProductsClient, new SequentialFanOut());
+
+    private final Product dress = new Product("456", "Dress", new BigDecimal("19.99"), true);
+    private final Product blazer = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+    @Test
+    void shouldFetchProductsSharedBetweenRequestedProductsOnlyOnce() {
+        // GIVEN
+        when(similarProductsClient.getSimilarProductIds("1")).thenReturn(List.of("456", "789"));
+        when(similarProductsClient.getSimilarProductIds("2")).thenReturn(List.of("789"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(dress));
+        when(similarProductsClient.getProductDetails("789")).thenReturn(Optional.of(blazer));
+
+        // WHEN
+        SimilarProductsBatch result =
+                getSimilarProductsBatchUseCase.getSimilarProducts(List.of("1", "2", "1"), Deadline.none());
+
+        // THEN
+        assertEquals(List.of("1", "2"), List.copyOf(result.getSimilarProducts().keySet()));
+        assertEquals(List.of(dress, blazer), result.getSimilarProducts().get("1").getProducts());
+        assertEquals(List.of(blazer), result.getSimilarProducts().get("2").getProducts());
+        assertTrue(result.getFailures().isEmpty());
+
+        verify(similarProductsClient, times(1)).getSimilarProductIds("1");
+        verify(similarProductsClient, times(1)).getProductDetails("456");
+        verify(similarProductsClient, times(1)).getProductDetails("789");
+    }
+
+    @Test
+    void shouldReportFailuresPerProductWithoutFailingTheBatch() {
+        // GIVEN
+        when(similarProductsClient.getSimilarProductIds("1")).thenReturn(List.of("456"));
+        when(similarProductsClient.getSimilarProductIds("2")).thenReturn(Collections.emptyList());
+        when(similarProductsClient.getSimilarProductIds("3")).thenThrow(new RuntimeException("Error database"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(dress));
+
+        // WHEN
+        SimilarProductsBatch result =
+                getSimilarProductsBatchUseCase.getSimilarProducts(List.of("1", "2", "3"), Deadline.none());
+
+        // THEN
+        assertEquals(List.of(dress), result.getSimilarProducts().get("1").getProducts());
+        assertInstanceOf(SimilarProductsNotFoundException.class, result.getFailures().get("2"));
+        assertEquals("No similar products found for productId: 2", result.getFailures().get("2").getMessage());
+        assertInstanceOf(SimilarProductsFetchingException.class, result.getFailures().get("3"));
+        assertEquals("Failed to fetch similar products for productId: 3", result.getFailures().get("3").getMessage());
+    }
+
+    @Test
+    void shouldMarkProductsWithTimedOutDetailsAsPartial() {
+        // GIVEN
+        when(similarProductsClient.getSimilarProductIds("1")).thenReturn(List.of("456", "789"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(dress));
+        when(similarProductsClient.getProductDetails("789"))
+                .thenThrow(new SimilarProductsTimeoutException("Timed out waiting for productId: 789"));
+
+        // WHEN
+        SimilarProductsBatch result = getSimilarProductsBatchUseCase.getSimilarProducts(List.of("1"), Deadline.none());
+
+        // THEN
+        assertEquals(List.of(dress), result.getSimilarProducts().get("1").getProducts());
+        assertTrue(result.getSimilarProducts().get("1").isPartial());
+        assertTrue(result.getFailures().isEmpty());
+    }
+}
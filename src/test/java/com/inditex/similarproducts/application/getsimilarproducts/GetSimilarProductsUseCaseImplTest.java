@@ -1,13 +1,17 @@
 package com.inditex.similarproducts.application.getsimilarproducts;
 
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Deadline;
 import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsTimeoutException;
 import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,7 +20,7 @@ import static org.mockito.Mockito.*;
 class GetSimilarProductsUseCaseImplTest {
 
     private final SimilarProductsClient similarProductsClient = mock(SimilarProductsClient.class);
-    private final GetSimilarProductsUseCase getSimilarProductsUseCase = new GetSimilarProductsUseCaseImpl(similarProductsClient);
+    private final GetSimilarProductsUseCase getSimilarProductsUseCase = new GetSimilarProductsUseCaseImpl(similarProductsClient, new SequentialFanOut());
 
     @Test
     void shouldReturnSimilarProductsWhenFetchIsSuccessful() {
@@ -75,4 +79,123 @@ class GetSimilarProductsUseCaseImplTest {
         verify(similarProductsClient, never()).getProductDetails(anyString());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldFetchDuplicatedSimilarProductsOnlyOnce() {
+        // GIVEN
+        String productId = "123";
+        List<String> similarProductIds = Arrays.asList("456", "789", "456");
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(similarProductIds);
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(product1));
+        when(similarProductsClient.getProductDetails("789")).thenReturn(Optional.of(product2));
+
+        // WHEN
+        List<Product> result = getSimilarProductsUseCase.getSimilarProducts(productId);
+
+        // THEN
+        assertEquals(List.of(product1, product2, product1), result);
+        verify(similarProductsClient, times(1)).getProductDetails("456");
+        verify(similarProductsClient, times(1)).getProductDetails("789");
+    }
+
+    @Test
+    void shouldReturnPartialResultWhenDeadlineExpires() {
+        // GIVEN
+        String productId = "123";
+        List<String> similarProductIds = Arrays.asList("456", "789");
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(similarProductIds);
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(product1));
+        when(similarProductsClient.getProductDetails("789")).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(product2);
+        });
+
+        // WHEN
+        SimilarProducts result = getSimilarProductsUseCase.getSimilarProducts(productId, Deadline.after(Duration.ofMillis(100)));
+
+        // THEN
+        assertTrue(result.isPartial());
+        assertEquals(List.of(product1), result.getProducts());
+    }
+
+    @Test
+    void shouldReturnPartialResultWhenProductDetailsTimeOut() {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(List.of("456", "789"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(product));
+        when(similarProductsClient.getProductDetails("789"))
+                .thenThrow(new SimilarProductsTimeoutException("Timed out waiting for productId: 789"));
+
+        // WHEN
+        SimilarProducts result = getSimilarProductsUseCase.getSimilarProducts(productId, Deadline.none());
+
+        // THEN
+        assertEquals(List.of(product), result.getProducts());
+        assertTrue(result.isPartial());
+    }
+
+    @Test
+    void shouldBindDeadlineToClientCalls() {
+        // GIVEN
+        String productId = "123";
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+        List<Deadline> boundDeadlines = new ArrayList<>();
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenAnswer(invocation -> {
+            boundDeadlines.add(Deadline.current());
+            return List.of("456");
+        });
+        when(similarProductsClient.getProductDetails("456")).thenAnswer(invocation -> {
+            boundDeadlines.add(Deadline.current());
+            return Optional.empty();
+        });
+
+        // WHEN
+        SimilarProducts result = getSimilarProductsUseCase.getSimilarProducts(productId, deadline);
+
+        // THEN
+        assertFalse(result.isPartial());
+        assertEquals(List.of(deadline, deadline), boundDeadlines);
+    }
+
+    @Test
+    void shouldStreamEachOccurrenceOfTheSimilarProducts() {
+        // GIVEN
+        String productId = "123";
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(List.of("456", "789", "456", "000"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(product1));
+        when(similarProductsClient.getProductDetails("789")).thenReturn(Optional.of(product2));
+        when(similarProductsClient.getProductDetails("000")).thenReturn(Optional.empty());
+
+        // WHEN
+        List<Product> result = new ArrayList<>();
+        getSimilarProductsUseCase.streamSimilarProducts(productId, Deadline.none()).forEach(result::add);
+
+        // THEN
+        assertEquals(List.of(product1, product1, product2), result);
+        verify(similarProductsClient, times(1)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldThrowNotFoundBeforeStreamingWhenNoSimilarProductsAreFound() {
+        // GIVEN
+        String productId = "123";
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Collections.emptyList());
+
+        // WHEN & THEN
+        assertThrows(SimilarProductsNotFoundException.class, () ->
+                getSimilarProductsUseCase.streamSimilarProducts(productId, Deadline.none())
+        );
+        verify(similarProductsClient, never()).getProductDetails(anyString());
+    }
+}
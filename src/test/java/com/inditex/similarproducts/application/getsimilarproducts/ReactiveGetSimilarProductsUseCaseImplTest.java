@@ -0,0 +1,175 @@
+package com.inditex.similarproducts.application.getsimilarproducts;
+
+import com.inditex.similarproducts.domain.client.ReactiveSimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.usecases.ReactiveGetSimilarProductsUseCase;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveGetSimilarProductsUseCaseImplTest {
+
+    private final ReactiveSimilarProductsClient similarProductsClient = mock(ReactiveSimilarProductsClient.class);
+    private final ReactiveGetSimilarProductsUseCase getSimilarProductsUseCase =
+            new ReactiveGetSimilarProductsUseCaseImpl(similarProductsClient, 4);
+
+    @Test
+    void shouldReturnSimilarProductsInTheOrderOfTheSimilarProductIds() {
+        // GIVEN
+        String productId = "123";
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.just("456", "789", "456"));
+        when(similarProductsClient.getProductDetails("456"))
+                .thenReturn(Mono.just(product1).delayElement(Duration.ofMillis(50)));
+        when(similarProductsClient.getProductDetails("789")).thenReturn(Mono.just(product2));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(productId))
+                .expectNext(product1, product2, product1)
+                .verifyComplete();
+
+        verify(similarProductsClient, times(1)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldSkipProductsWithoutDetails() {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.just("456", "789"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Mono.empty());
+        when(similarProductsClient.getProductDetails("789")).thenReturn(Mono.just(product));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(productId))
+                .expectNext(product)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenNoSimilarProductsAreFound() {
+        // GIVEN
+        String productId = "123";
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.empty());
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(productId))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(SimilarProductsNotFoundException.class, error);
+                    assertEquals("No similar products found for productId: 123", error.getMessage());
+                })
+                .verify();
+
+        verify(similarProductsClient, never()).getProductDetails(anyString());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenFetchingSimilarProductsFails() {
+        // GIVEN
+        String productId = "123";
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.error(new RuntimeException("Error")));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(productId))
+                .expectErrorSatisfies(error -> {
+                    assertInstanceOf(SimilarProductsFetchingException.class, error);
+                    assertEquals("Failed to fetch similar products for productId: 123", error.getMessage());
+                })
+                .verify();
+    }
+
+    @Test
+    void shouldReturnPartialResultWhenTheDeadlineExpires() {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product slowProduct = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.just("456", "789"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Mono.just(product));
+        when(similarProductsClient.getProductDetails("789"))
+                .thenReturn(Mono.just(slowProduct).delayElement(Duration.ofSeconds(5)));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(
+                        productId, Deadline.after(Duration.ofMillis(100))))
+                .assertNext(similarProducts -> {
+                    assertEquals(List.of(product), similarProducts.getProducts());
+                    assertTrue(similarProducts.isPartial());
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldReturnCompleteResultWhenEveryProductArrivesBeforeTheDeadline() {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.just("456"));
+        when(similarProductsClient.getProductDetails("456")).thenReturn(Mono.just(product));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(
+                        productId, Deadline.after(Duration.ofSeconds(5))))
+                .assertNext(similarProducts -> {
+                    assertEquals(List.of(product), similarProducts.getProducts());
+                    assertFalse(similarProducts.isPartial());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWhenTheDeadlineExpiresBeforeTheSimilarProductIds() {
+        // GIVEN
+        String productId = "123";
+        when(similarProductsClient.getSimilarProductIds(productId))
+                .thenReturn(Flux.just("456").delayElements(Duration.ofSeconds(5)));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.getSimilarProducts(
+                        productId, Deadline.after(Duration.ofMillis(100))))
+                .expectError(SimilarProductsFetchingException.class)
+                .verify(Duration.ofSeconds(1));
+
+        verify(similarProductsClient, never()).getProductDetails(anyString());
+    }
+
+    @Test
+    void shouldStreamProductsAsTheyArriveUntilTheDeadline() {
+        // GIVEN
+        String productId = "123";
+        Product slowProduct = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+        Product lateProduct = new Product("999", "Coat", new BigDecimal("59.99"), true);
+
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(Flux.just("456", "789", "999"));
+        when(similarProductsClient.getProductDetails("456"))
+                .thenReturn(Mono.just(slowProduct).delayElement(Duration.ofMillis(50)));
+        when(similarProductsClient.getProductDetails("789")).thenReturn(Mono.just(product));
+        when(similarProductsClient.getProductDetails("999"))
+                .thenReturn(Mono.just(lateProduct).delayElement(Duration.ofSeconds(5)));
+
+        // WHEN & THEN
+        StepVerifier.create(getSimilarProductsUseCase.streamSimilarProducts(
+                        productId, Deadline.after(Duration.ofMillis(300))))
+                .expectNext(product, slowProduct)
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,174 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.core.functions.CheckedSupplier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Bulkhead bulkhead = Bulkhead.of("product", BulkheadConfig.custom()
+            .maxConcurrentCalls(20)
+            .build());
+    private final AdaptiveConcurrencyLimiter.Limit limit =
+            new AdaptiveConcurrencyLimiter(10, 100, meterRegistry).limitFor("product", bulkhead);
+
+    @Test
+    void shouldRaiseLimitWhileLatencyStaysAtBaselineAndLimitIsInUse() {
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(10 * MILLIS, false, limit.getLimit());
+        }
+
+        // THEN
+        assertTrue(limit.getLimit() > 20);
+        assertEquals(limit.getLimit(), meterRegistry.get("upstream.concurrency.limit")
+                .tag("endpoint", "product").gauge().value());
+    }
+
+    @Test
+    void shouldKeepLimitWhenItIsNotInUse() {
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(10 * MILLIS, false, 2);
+        }
+
+        // THEN
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void shouldLowerLimitWhenLatencyShowsUpstreamQueueing() {
+        // GIVEN
+        limit.onSample(10 * MILLIS, false, 20);
+        int limitBefore = limit.getLimit();
+
+        // WHEN
+        for (int i = 0; i < 5; i++) {
+            limit.onSample(40 * MILLIS, false, limit.getLimit());
+        }
+
+        // THEN
+        assertTrue(limit.getLimit() < limitBefore);
+    }
+
+    @Test
+    void shouldLowerLimitOnFailedCallsDownToMinimum() {
+        // WHEN
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, true, 20);
+        }
+
+        // THEN
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void shouldLowerLimitWhileSaturatedWithoutWaitingForCallsInFlight() throws Throwable {
+        // GIVEN
+        Bulkhead saturatedBulkhead = Bulkhead.of("product", BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ofMillis(10))
+                .build());
+        AdaptiveConcurrencyLimiter.Limit saturatedLimit =
+                new AdaptiveConcurrencyLimiter(1, 2, meterRegistry).limitFor("product", saturatedBulkhead);
+        CountDownLatch bothInFlight = new CountDownLatch(2);
+        CheckedSupplier<String> failingCall = saturatedLimit.decorate(() -> {
+            bothInFlight.countDown();
+            bothInFlight.await();
+            throw new IOException("Upstream failed");
+        });
+
+        // WHEN
+        // Not closed, so a deadlock fails the test on the timeout instead of hanging it
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> calls = List.of(
+                    executor.submit(() -> assertThrows(IOException.class, failingCall::get)),
+                    executor.submit(() -> assertThrows(IOException.class, failingCall::get)));
+            for (Future<?> call : calls) {
+                call.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // THEN
+        assertEquals(1, saturatedLimit.getLimit());
+        assertEquals(2, saturatedBulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals("ok", saturatedLimit.decorate(() -> "ok").get());
+    }
+
+    @Test
+    void shouldRejectCallsOverTheLimitOnceTheMaxWaitIsOver() throws Throwable {
+        // GIVEN
+        Bulkhead smallBulkhead = Bulkhead.of("product", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ofMillis(10))
+                .build());
+        AdaptiveConcurrencyLimiter.Limit smallLimit =
+                new AdaptiveConcurrencyLimiter(1, 5, meterRegistry).limitFor("product", smallBulkhead);
+
+        // WHEN
+        CheckedSupplier<String> nestedCall = smallLimit.decorate(() -> smallLimit.decorate(() -> "nested").get());
+
+        // THEN
+        assertThrows(BulkheadFullException.class, nestedCall::get);
+        assertEquals("ok", smallLimit.decorate(() -> "ok").get());
+        assertEquals(1, meterRegistry.get("resilience4j.bulkhead.rejected.calls")
+                .tag("name", "product").counter().count());
+    }
+
+    @Test
+    void shouldMeasureClientErrorsAsAnswersAndRecordQueueingTime() throws Throwable {
+        // GIVEN
+        limit.onSample(10 * MILLIS, false, 20);
+
+        // WHEN
+        assertThrows(HttpClientErrorException.class, () -> limit.decorate(() -> {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        }).get());
+        String result = limit.decorate(() -> "ok").get();
+
+        // THEN
+        assertEquals("ok", result);
+        assertTrue(limit.getLimit() >= 20);
+        assertEquals(2, meterRegistry.get("upstream.concurrency.queueing")
+                .tag("endpoint", "product").timer().count());
+    }
+
+    @Test
+    void shouldKeepBulkheadLimitWhenDisabled() throws Throwable {
+        // GIVEN
+        Bulkhead fixedBulkhead = Bulkhead.of("product", BulkheadConfig.custom()
+                .maxConcurrentCalls(20)
+                .build());
+        AdaptiveConcurrencyLimiter.Limit fixedLimit =
+                AdaptiveConcurrencyLimiter.disabled().limitFor("product", fixedBulkhead);
+
+        // WHEN
+        String result = fixedLimit.decorate(() -> "ok").get();
+
+        // THEN
+        assertEquals("ok", result);
+        assertEquals(20, fixedLimit.getLimit());
+    }
+}
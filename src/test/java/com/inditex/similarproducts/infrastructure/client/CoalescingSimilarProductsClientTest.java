@@ -0,0 +1,140 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsTimeoutException;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoalescingSimilarProductsClientTest {
+
+    private static final int CALLERS = 5;
+
+    private final SimilarProductsClient delegate = mock(SimilarProductsClient.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SimilarProductsClient similarProductsClient =
+            new CoalescingSimilarProductsClient(delegate, meterRegistry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void shouldShareOneUpstreamCallBetweenConcurrentCallersForTheSameProduct() throws Exception {
+        // GIVEN
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(delegate.getProductDetails("456")).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(product);
+        });
+
+        // WHEN
+        List<Future<Optional<Product>>> results = callConcurrently(() -> similarProductsClient.getProductDetails("456"));
+
+        // THEN
+        for (Future<Optional<Product>> result : results) {
+            assertEquals(Optional.of(product), result.get(1, TimeUnit.SECONDS));
+        }
+        verify(delegate, times(1)).getProductDetails("456");
+        assertEquals(CALLERS - 1, coalescedCalls("product"));
+    }
+
+    @Test
+    void shouldShareUpstreamFailureBetweenConcurrentCallers() throws Exception {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenAnswer(invocation -> {
+            release.await();
+            throw new SimilarProductsFetchingException("Upstream error");
+        });
+
+        // WHEN
+        List<Future<List<String>>> results = callConcurrently(() -> similarProductsClient.getSimilarProductIds("123"));
+
+        // THEN
+        for (Future<List<String>> result : results) {
+            ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+            assertInstanceOf(SimilarProductsFetchingException.class, exception.getCause());
+        }
+        verify(delegate, times(1)).getSimilarProductIds("123");
+        assertEquals(CALLERS - 1, coalescedCalls("similarids"));
+    }
+
+    @Test
+    void shouldStopWaitingForTheSharedCallOnceTheFollowerDeadlineExpires() throws Exception {
+        // GIVEN
+        when(delegate.getProductDetails("456")).thenAnswer(invocation -> {
+            release.await();
+            return Optional.of(new Product("456", "Dress", new BigDecimal("19.99"), true));
+        });
+        Future<Optional<Product>> leader = executor.submit(() -> similarProductsClient.getProductDetails("456"));
+        while (mockingDetails(delegate).getInvocations().isEmpty()) {
+            Thread.sleep(1);
+        }
+
+        // WHEN & THEN
+        assertThrows(SimilarProductsTimeoutException.class, () -> Deadline.after(Duration.ofMillis(50))
+                .run(() -> similarProductsClient.getProductDetails("456")));
+        assertEquals(1, coalescedCalls("product"));
+        release.countDown();
+        assertTrue(leader.get(1, TimeUnit.SECONDS).isPresent());
+        verify(delegate, times(1)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldCallUpstreamAgainOnceThePreviousCallHasCompleted() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of("456"));
+
+        // WHEN
+        similarProductsClient.getSimilarProductIds("123");
+        similarProductsClient.getSimilarProductIds("123");
+
+        // THEN
+        verify(delegate, times(2)).getSimilarProductIds("123");
+        assertEquals(0, coalescedCalls("similarids"));
+    }
+
+    private <T> List<Future<T>> callConcurrently(Callable<T> call) throws InterruptedException {
+        List<Future<T>> results = new ArrayList<>();
+        results.add(executor.submit(call));
+        // Waits for the first call to reach the upstream before the others join it
+        while (mockingDetails(delegate).getInvocations().isEmpty()) {
+            Thread.sleep(1);
+        }
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        while (coalescedCalls("product") + coalescedCalls("similarids") < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private double coalescedCalls(String endpoint) {
+        return meterRegistry.get("upstream.calls.coalesced").tag("endpoint", endpoint).counter().count();
+    }
+}
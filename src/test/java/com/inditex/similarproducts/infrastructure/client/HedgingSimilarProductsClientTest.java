@@ -0,0 +1,151 @@
+package com.inditex.similarproducts.infrastructure.client;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HedgingSimilarProductsClientTest {
+
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(50);
+
+    private final SimilarProductsClient delegate = mock(SimilarProductsClient.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+
+    @Test
+    void shouldNotHedgeWhenFirstCallAnswersWithinTheDelay() {
+        // GIVEN
+        SimilarProductsClient similarProductsClient =
+                new HedgingSimilarProductsClient(delegate, HEDGE_DELAY, 100, meterRegistry);
+        when(delegate.getProductDetails("456")).thenReturn(Optional.of(product));
+
+        // WHEN
+        Optional<Product> result = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(Optional.of(product), result);
+        verify(delegate, times(1)).getProductDetails("456");
+        assertEquals(1, count("upstream.hedging.requests"));
+        assertEquals(0, count("upstream.hedging.hedges"));
+    }
+
+    @Test
+    void shouldReturnHedgeResultWhenFirstCallIsSlow() {
+        // GIVEN
+        SimilarProductsClient similarProductsClient =
+                new HedgingSimilarProductsClient(delegate, HEDGE_DELAY, 100, meterRegistry);
+        CountDownLatch stuck = new CountDownLatch(1);
+        when(delegate.getProductDetails("456"))
+                .thenAnswer(invocation -> {
+                    stuck.await();
+                    return Optional.empty();
+                })
+                .thenReturn(Optional.of(product));
+
+        // WHEN
+        Optional<Product> result = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        stuck.countDown();
+        assertEquals(Optional.of(product), result);
+        verify(delegate, times(2)).getProductDetails("456");
+        assertEquals(1, count("upstream.hedging.hedges"));
+        assertEquals(1, count("upstream.hedging.wins"));
+    }
+
+    @Test
+    void shouldWaitForFirstCallWhenHedgeBudgetIsExhausted() {
+        // GIVEN
+        SimilarProductsClient similarProductsClient =
+                new HedgingSimilarProductsClient(delegate, HEDGE_DELAY, 0, meterRegistry);
+        when(delegate.getProductDetails("456")).thenAnswer(invocation -> {
+            Thread.sleep(HEDGE_DELAY.multipliedBy(2).toMillis());
+            return Optional.of(product);
+        });
+
+        // WHEN
+        Optional<Product> result = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(Optional.of(product), result);
+        verify(delegate, times(1)).getProductDetails("456");
+        assertEquals(0, count("upstream.hedging.hedges"));
+        assertEquals(1, count("upstream.hedging.throttled"));
+    }
+
+    @Test
+    void shouldReturnProductFoundByFirstCallWhenHedgeFindsNothing() {
+        // GIVEN
+        SimilarProductsClient similarProductsClient =
+                new HedgingSimilarProductsClient(delegate, HEDGE_DELAY, 100, meterRegistry);
+        when(delegate.getProductDetails("456"))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(HEDGE_DELAY.multipliedBy(3).toMillis());
+                    return Optional.of(product);
+                })
+                .thenReturn(Optional.empty());
+
+        // WHEN
+        Optional<Product> result = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(Optional.of(product), result);
+        assertEquals(1, count("upstream.hedging.hedges"));
+        assertEquals(0, count("upstream.hedging.wins"));
+    }
+
+    @Test
+    void shouldStopWaitingWhenLatencyBudgetRunsOut() {
+        // GIVEN
+        SimilarProductsClient similarProductsClient =
+                new HedgingSimilarProductsClient(delegate, HEDGE_DELAY, 0, meterRegistry);
+        CountDownLatch stuck = new CountDownLatch(1);
+        when(delegate.getProductDetails("456")).thenAnswer(invocation -> {
+            stuck.await();
+            return Optional.of(product);
+        });
+        long start = System.nanoTime();
+
+        // WHEN
+        Optional<Product> result = Deadline.after(Duration.ofMillis(200))
+                .run(() -> similarProductsClient.getProductDetails("456"));
+
+        // THEN
+        stuck.countDown();
+        assertEquals(Optional.empty(), result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1000);
+    }
+
+    @Test
+    void shouldLimitHedgesToConfiguredShareOfRequests() {
+        // GIVEN
+        HedgingSimilarProductsClient.HedgeBudget hedgeBudget = new HedgingSimilarProductsClient.HedgeBudget(10);
+
+        // WHEN
+        int hedges = 0;
+        for (int i = 0; i < 100; i++) {
+            hedgeBudget.onRequest();
+            if (hedgeBudget.tryWithdraw()) {
+                hedges++;
+            }
+        }
+
+        // THEN
+        assertEquals(10, hedges);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+}
@@ -1,12 +1,23 @@
 package com.inditex.similarproducts.infrastructure.client;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.tomakehurst.wiremock.WireMockServer;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.models.Deadline;
 import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.client.cache.NotFoundCache;
+import com.inditex.similarproducts.infrastructure.client.cache.UpstreamValidatorCache;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +29,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +46,13 @@ class SimilarProductsClientImplIntegrationTest {
     @Autowired
     private Retry retry;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
     private SimilarProductsClient similarProductsClient;
     private WireMockServer wireMockServer;
 
@@ -47,8 +66,18 @@ class SimilarProductsClientImplIntegrationTest {
         wireMockServer.start();
         configureFor("localhost", 3002);
 
-        // Initializes the client with the base URL pointing to WireMock server
-        similarProductsClient = new SimilarProductsClientImpl(restTemplate, similarProductsUrl, retry);
+        // Initializes the client with the base URL pointing to WireMock server, with circuit breakers and
+        // bulkheads that are not shared with other tests
+        similarProductsClient = new SimilarProductsClientImpl(
+                restTemplate,
+                similarProductsUrl,
+                retry,
+                CircuitBreakerRegistry.of(circuitBreakerRegistry.getDefaultConfig()),
+                BulkheadRegistry.of(bulkheadRegistry.getDefaultConfig()),
+                AdaptiveConcurrencyLimiter.disabled(),
+                NotFoundCache.disabled(),
+                UpstreamValidatorCache.disabled(),
+                meterRegistry);
     }
 
     @AfterEach
@@ -132,10 +161,13 @@ class SimilarProductsClientImplIntegrationTest {
 
         // THEN
         assertTrue(result.isEmpty());
+        assertEquals(1, meterRegistry.get("upstream.calls")
+                .tags("endpoint", "product", "outcome", "not_found").timer().count());
+        assertTrue(meterRegistry.find("upstream.failures.swallowed").counters().isEmpty());
     }
 
     @Test
-    void shouldReturnEmptyListAfterThreeFailedAttempts() {
+    void shouldThrowFetchingExceptionAfterThreeFailedAttempts() {
         // GIVEN
         wireMockServer.stubFor(
                 WireMock.get(WireMock.urlPathEqualTo("/product/123/similarids"))
@@ -164,11 +196,13 @@ class SimilarProductsClientImplIntegrationTest {
                         )
         );
 
-        // WHEN
-        List<String> similarProductIds = similarProductsClient.getSimilarProductIds("123");
+        // WHEN & THEN
+        SimilarProductsFetchingException exception = assertThrows(SimilarProductsFetchingException.class, () ->
+                similarProductsClient.getSimilarProductIds("123")
+        );
 
-        // THEN
-        assertTrue(similarProductIds.isEmpty());
+        assertEquals("Failed to fetch similar product ids for productId: 123", exception.getMessage());
+        wireMockServer.verify(3, getRequestedFor(urlPathEqualTo("/product/123/similarids")));
     }
 
 
@@ -238,6 +272,10 @@ class SimilarProductsClientImplIntegrationTest {
 
         // THEN
         assertTrue(productDetails.isEmpty());
+        assertEquals(1, meterRegistry.get("upstream.calls")
+                .tags("endpoint", "product", "outcome", "error").timer().count());
+        assertEquals(1, meterRegistry.get("upstream.failures.swallowed")
+                .tags("endpoint", "product").counter().count());
     }
 
     @Test
@@ -271,4 +309,182 @@ class SimilarProductsClientImplIntegrationTest {
         assertEquals("Product 123", productDetails.get().getName());
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReturnEmptyProductDetailsWhenUpstreamExceedsReadTimeout() {
+        // GIVEN
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/123"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.OK.value())
+                                .withHeader("Content-Type", "application/json")
+                                .withBody("{\"id\":\"123\", \"name\":\"Product 123\", \"price\":10.99, \"availability\":true}")
+                                .withFixedDelay(3000)
+                        )
+        );
+
+        // WHEN
+        long start = System.nanoTime();
+        Optional<Product> productDetails = similarProductsClient.getProductDetails("123");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // THEN
+        assertTrue(productDetails.isEmpty());
+        assertTrue(elapsedMillis < 3000);
+    }
+
+    @Test
+    void shouldNotRetryWhenDeadlineLeavesNoRoomForTheWait() {
+        // GIVEN
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/123"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                        )
+        );
+
+        // WHEN
+        Optional<Product> productDetails = Deadline.after(Duration.ofMillis(1000))
+                .run(() -> similarProductsClient.getProductDetails("123"));
+
+        // THEN
+        assertTrue(productDetails.isEmpty());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/product/123")));
+    }
+
+    @Test
+    void shouldFailFastWithoutCallingUpstreamWhenCircuitIsOpen() {
+        // GIVEN
+        CircuitBreakerRegistry sensitiveCircuitBreakerRegistry = CircuitBreakerRegistry.of(
+                CircuitBreakerConfig.from(circuitBreakerRegistry.getDefaultConfig())
+                        .slidingWindowSize(2)
+                        .minimumNumberOfCalls(2)
+                        .build());
+        SimilarProductsClient client = new SimilarProductsClientImpl(
+                restTemplate, similarProductsUrl, retry, sensitiveCircuitBreakerRegistry, bulkheadRegistry,
+                AdaptiveConcurrencyLimiter.disabled(), NotFoundCache.disabled(), UpstreamValidatorCache.disabled(), meterRegistry);
+
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/123"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.INTERNAL_SERVER_ERROR.value())
+                        )
+        );
+        Deadline.after(Duration.ofMillis(1000)).run(() -> client.getProductDetails("123"));
+        Deadline.after(Duration.ofMillis(1000)).run(() -> client.getProductDetails("123"));
+
+        // WHEN
+        Optional<Product> productDetails = client.getProductDetails("123");
+
+        // THEN
+        assertTrue(productDetails.isEmpty());
+        assertEquals(CircuitBreaker.State.OPEN,
+                sensitiveCircuitBreakerRegistry.circuitBreaker(SimilarProductsClientImpl.PRODUCT_DETAILS).getState());
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/product/123")));
+    }
+
+    @Test
+    void shouldNotCallUpstreamAgainForProductsConfirmedAsNotFound() {
+        // GIVEN
+        SimilarProductsClient client = clientWithNotFoundCache();
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/123/similarids"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.NOT_FOUND.value())
+                        )
+        );
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/456"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.NOT_FOUND.value())
+                        )
+        );
+        client.getSimilarProductIds("123");
+        client.getProductDetails("456");
+
+        // WHEN
+        List<String> similarProductIds = client.getSimilarProductIds("123");
+        Optional<Product> productDetails = client.getProductDetails("456");
+
+        // THEN
+        assertTrue(similarProductIds.isEmpty());
+        assertTrue(productDetails.isEmpty());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/product/123/similarids")));
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/product/456")));
+    }
+
+    @Test
+    void shouldNotCacheFailedCallsAsNotFound() {
+        // GIVEN
+        SimilarProductsClient client = clientWithNotFoundCache();
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/456"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.BAD_REQUEST.value())
+                        )
+        );
+        client.getProductDetails("456");
+
+        // WHEN
+        Optional<Product> productDetails = client.getProductDetails("456");
+
+        // THEN
+        assertTrue(productDetails.isEmpty());
+        wireMockServer.verify(2, getRequestedFor(urlPathEqualTo("/product/456")));
+    }
+
+    private SimilarProductsClient clientWithNotFoundCache() {
+        return new SimilarProductsClientImpl(
+                restTemplate,
+                similarProductsUrl,
+                retry,
+                CircuitBreakerRegistry.of(circuitBreakerRegistry.getDefaultConfig()),
+                BulkheadRegistry.of(bulkheadRegistry.getDefaultConfig()),
+                AdaptiveConcurrencyLimiter.disabled(),
+                new NotFoundCache(Caffeine.newBuilder().maximumSize(100)),
+                UpstreamValidatorCache.disabled(),
+                meterRegistry);
+    }
+
+    @Test
+    void shouldReuseStoredBodyWhenUpstreamAnswersNotModified() {
+        // GIVEN
+        SimilarProductsClient client = new SimilarProductsClientImpl(
+                restTemplate,
+                similarProductsUrl,
+                retry,
+                CircuitBreakerRegistry.of(circuitBreakerRegistry.getDefaultConfig()),
+                BulkheadRegistry.of(bulkheadRegistry.getDefaultConfig()),
+                AdaptiveConcurrencyLimiter.disabled(),
+                NotFoundCache.disabled(),
+                new UpstreamValidatorCache(Caffeine.newBuilder().maximumSize(100)),
+                meterRegistry);
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/123"))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.OK.value())
+                                .withHeader("Content-Type", "application/json")
+                                .withHeader("ETag", "\"v1\"")
+                                .withBody("{ \"id\": \"123\", \"name\": \"Product 123\", \"price\": 10.99, \"availability\": true }")
+                        )
+        );
+        wireMockServer.givenThat(
+                WireMock.get(WireMock.urlPathEqualTo("/product/123"))
+                        .withHeader("If-None-Match", equalTo("\"v1\""))
+                        .willReturn(aResponse()
+                                .withStatus(HttpStatus.NOT_MODIFIED.value())
+                        )
+        );
+        client.getProductDetails("123");
+
+        // WHEN
+        Optional<Product> product = client.getProductDetails("123");
+
+        // THEN
+        assertTrue(product.isPresent());
+        assertEquals("Product 123", product.get().getName());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/product/123"))
+                .withHeader("If-None-Match", equalTo("\"v1\"")));
+        assertEquals(1, meterRegistry.get("upstream.revalidations")
+                .tags("endpoint", "product", "outcome", "not_modified").counter().count());
+    }
+}
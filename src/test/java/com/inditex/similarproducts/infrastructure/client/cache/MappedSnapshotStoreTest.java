@@ -0,0 +1,151 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.inditex.similarproducts.domain.models.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSnapshotStoreTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldReadBackStoredEntriesAfterReopeningTheFile() throws IOException {
+        // GIVEN
+        Path file = tempDir.resolve("snapshot.bin");
+        Product product = new Product("456", "Dress", new BigDecimal("19.90"), true);
+        Product productWithoutDetails = new Product("789", null, null, false);
+        try (MappedSnapshotStore snapshotStore = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+            snapshotStore.putSimilarProductIds("123", List.of("456", "789"), 1_000L);
+            snapshotStore.putProductDetails("456", product, 2_000L);
+            snapshotStore.putProductDetails("789", productWithoutDetails, 3_000L);
+        }
+
+        // WHEN
+        try (MappedSnapshotStore snapshotStore = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+
+            // THEN
+            assertEquals(new MappedSnapshotStore.Entry<>(List.of("456", "789"), 1_000L),
+                    snapshotStore.getSimilarProductIds("123"));
+            assertEquals(new MappedSnapshotStore.Entry<>(product, 2_000L), snapshotStore.getProductDetails("456"));
+            assertEquals(new MappedSnapshotStore.Entry<>(productWithoutDetails, 3_000L),
+                    snapshotStore.getProductDetails("789"));
+            assertEquals("19.90", snapshotStore.getProductDetails("456").value().getPrice().toPlainString());
+            assertNull(snapshotStore.getProductDetails("123"));
+            assertNull(snapshotStore.getSimilarProductIds("456"));
+            assertEquals(3, snapshotStore.getEntryCount());
+        }
+    }
+
+    @Test
+    void shouldTreatACorruptRecordAsMissing() throws IOException {
+        // GIVEN
+        Path file = tempDir.resolve("snapshot.bin");
+        try (MappedSnapshotStore snapshotStore = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+            snapshotStore.putSimilarProductIds("123", List.of("456", "789"), 1_000L);
+        }
+        // Overwrites the number of IDs of the only record, right after the 64 bytes header, the index of 32 slots,
+        // the record header and its key
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, -1), 64 + 32 * 16 + 19 + 3);
+        }
+
+        // WHEN
+        try (MappedSnapshotStore snapshotStore = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+
+            // THEN
+            assertNull(snapshotStore.getSimilarProductIds("123"));
+            snapshotStore.putSimilarProductIds("123", List.of("101"), 2_000L);
+            assertEquals(new MappedSnapshotStore.Entry<>(List.of("101"), 2_000L),
+                    snapshotStore.getSimilarProductIds("123"));
+        }
+    }
+
+    @Test
+    void shouldReplaceEntryWhenStoredAgain() throws IOException {
+        // GIVEN
+        try (MappedSnapshotStore snapshotStore = open(16)) {
+            snapshotStore.putSimilarProductIds("123", List.of("456"), 1_000L);
+
+            // WHEN
+            snapshotStore.putSimilarProductIds("123", List.of("789", "101"), 2_000L);
+
+            // THEN
+            assertEquals(new MappedSnapshotStore.Entry<>(List.of("789", "101"), 2_000L),
+                    snapshotStore.getSimilarProductIds("123"));
+            assertEquals(1, snapshotStore.getEntryCount());
+        }
+    }
+
+    @Test
+    void shouldStartOverWhenTheSnapshotIsFull() throws IOException {
+        // GIVEN
+        try (MappedSnapshotStore snapshotStore = open(4)) {
+            for (int i = 0; i < 8; i++) {
+                snapshotStore.putSimilarProductIds(String.valueOf(i), List.of("456"), 1_000L);
+            }
+
+            // WHEN
+            snapshotStore.putSimilarProductIds("8", List.of("789"), 2_000L);
+
+            // THEN
+            assertEquals(1, snapshotStore.getEntryCount());
+            assertNull(snapshotStore.getSimilarProductIds("0"));
+            assertEquals(new MappedSnapshotStore.Entry<>(List.of("789"), 2_000L),
+                    snapshotStore.getSimilarProductIds("8"));
+        }
+    }
+
+    @Test
+    void shouldStartEmptyWhenTheFileWasWrittenWithAnotherLayout() throws IOException {
+        // GIVEN
+        Path file = tempDir.resolve("snapshot.bin");
+        try (MappedSnapshotStore snapshotStore = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+            snapshotStore.putSimilarProductIds("123", List.of("456"), 1_000L);
+        }
+
+        // WHEN
+        try (MappedSnapshotStore snapshotStore = new MappedSnapshotStore(file, 1024, 64 * 1024)) {
+
+            // THEN
+            assertNull(snapshotStore.getSimilarProductIds("123"));
+            assertEquals(0, snapshotStore.getEntryCount());
+        }
+    }
+
+    @Test
+    void shouldRunDisabledWhileAnotherStoreHoldsTheFile() throws IOException {
+        // GIVEN
+        Path file = tempDir.resolve("snapshot.bin");
+        try (MappedSnapshotStore owner = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+            owner.putSimilarProductIds("123", List.of("456"), 1_000L);
+
+            // WHEN
+            try (MappedSnapshotStore other = new MappedSnapshotStore(file, 16, 64 * 1024)) {
+                other.putSimilarProductIds("789", List.of("101"), 2_000L);
+
+                // THEN
+                assertFalse(other.isEnabled());
+                assertNull(other.getSimilarProductIds("123"));
+                assertEquals(0, other.getEntryCount());
+            }
+            assertTrue(owner.isEnabled());
+            assertEquals(1, owner.getEntryCount());
+            assertNull(owner.getSimilarProductIds("789"));
+        }
+    }
+
+    private MappedSnapshotStore open(int maxEntries) {
+        return new MappedSnapshotStore(tempDir.resolve("snapshot.bin"), maxEntries, 64 * 1024);
+    }
+}
@@ -0,0 +1,152 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductDetailsCachingClientTest {
+
+    private final SimilarProductsClient delegate = mock(SimilarProductsClient.class);
+    private final Cache<String, Product> productDetailsCache = Caffeine.newBuilder()
+            .maximumSize(100)
+            .executor(Runnable::run)
+            .recordStats()
+            .build();
+    private final SimilarProductsClient similarProductsClient =
+            new ProductDetailsCachingClient(delegate, productDetailsCache);
+
+    @Test
+    void shouldReturnCachedProductDetailsWithoutCallingDelegateAgain() {
+        // GIVEN
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(delegate.getProductDetails("456")).thenReturn(Optional.of(product));
+
+        // WHEN
+        Optional<Product> firstResult = similarProductsClient.getProductDetails("456");
+        Optional<Product> secondResult = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(Optional.of(product), firstResult);
+        assertEquals(Optional.of(product), secondResult);
+        verify(delegate, times(1)).getProductDetails("456");
+        assertEquals(1, productDetailsCache.stats().hitCount());
+        assertEquals(1, productDetailsCache.stats().missCount());
+    }
+
+    @Test
+    void shouldNotCacheEmptyProductDetails() {
+        // GIVEN
+        when(delegate.getProductDetails("456")).thenReturn(Optional.empty());
+
+        // WHEN
+        similarProductsClient.getProductDetails("456");
+        Optional<Product> result = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        assertTrue(result.isEmpty());
+        verify(delegate, times(2)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldDelegateSimilarProductIds() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of("456", "789"));
+
+        // WHEN
+        List<String> result = similarProductsClient.getSimilarProductIds("123");
+
+        // THEN
+        assertEquals(List.of("456", "789"), result);
+        verify(delegate).getSimilarProductIds("123");
+    }
+
+    @Test
+    void shouldRefreshRequestedProductDetailsShortlyBeforeExpiry() {
+        // GIVEN
+        AtomicLong nanos = new AtomicLong();
+        Cache<String, Product> expiringCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(60))
+                .executor(Runnable::run)
+                .ticker(nanos::get)
+                .build();
+        SimilarProductsClient refreshingClient = new ProductDetailsCachingClient(
+                delegate, expiringCache, Duration.ofSeconds(10), Runnable::run);
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product updatedProduct = new Product("456", "Dress", new BigDecimal("14.99"), true);
+        when(delegate.getProductDetails("456"))
+                .thenReturn(Optional.of(product))
+                .thenReturn(Optional.of(updatedProduct));
+
+        // WHEN
+        refreshingClient.getProductDetails("456");
+        nanos.addAndGet(Duration.ofSeconds(20).toNanos());
+        Optional<Product> freshResult = refreshingClient.getProductDetails("456");
+        nanos.addAndGet(Duration.ofSeconds(35).toNanos());
+        Optional<Product> dueResult = refreshingClient.getProductDetails("456");
+        nanos.addAndGet(Duration.ofSeconds(30).toNanos());
+        Optional<Product> refreshedResult = refreshingClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(Optional.of(product), freshResult);
+        assertEquals(Optional.of(product), dueResult);
+        assertEquals(Optional.of(updatedProduct), refreshedResult);
+        verify(delegate, times(2)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldKeepServingCachedProductDetailsWhenRefreshIsRejected() {
+        // GIVEN
+        AtomicLong nanos = new AtomicLong();
+        Cache<String, Product> expiringCache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(60))
+                .executor(Runnable::run)
+                .ticker(nanos::get)
+                .build();
+        SimilarProductsClient refreshingClient = new ProductDetailsCachingClient(
+                delegate, expiringCache, Duration.ofSeconds(10), task -> {
+                    throw new RejectedExecutionException("saturated");
+                });
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(delegate.getProductDetails("456")).thenReturn(Optional.of(product));
+
+        // WHEN
+        refreshingClient.getProductDetails("456");
+        nanos.addAndGet(Duration.ofSeconds(55).toNanos());
+        Optional<Product> result = refreshingClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(Optional.of(product), result);
+        verify(delegate, times(1)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldStopTheRefreshExecutorAndCloseTheDelegateOnClose() throws Exception {
+        // GIVEN
+        SimilarProductsClient closeableDelegate =
+                mock(SimilarProductsClient.class, withSettings().extraInterfaces(AutoCloseable.class));
+        ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+        ProductDetailsCachingClient refreshingClient = new ProductDetailsCachingClient(
+                closeableDelegate, productDetailsCache, Duration.ofSeconds(10), refreshExecutor);
+
+        // WHEN
+        refreshingClient.close();
+
+        // THEN
+        assertTrue(refreshExecutor.isShutdown());
+        verify((AutoCloseable) closeableDelegate).close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SimilarProductIdsCachingClientTest {
+
+    private final SimilarProductsClient delegate = mock(SimilarProductsClient.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final Queue<Runnable> refreshTasks = new ArrayDeque<>();
+    private final SimilarProductsClient similarProductsClient = new SimilarProductIdsCachingClient(
+            delegate,
+            Caffeine.newBuilder()
+                    .refreshAfterWrite(Duration.ofSeconds(60))
+                    .expireAfterWrite(Duration.ofHours(1))
+                    .ticker(nanos::get),
+            refreshTasks::add);
+
+    @Test
+    void shouldReturnCachedSimilarProductIdsWithoutCallingDelegateAgain() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of("456", "789"));
+
+        // WHEN
+        similarProductsClient.getSimilarProductIds("123");
+        List<String> result = similarProductsClient.getSimilarProductIds("123");
+
+        // THEN
+        assertEquals(List.of("456", "789"), result);
+        verify(delegate, times(1)).getSimilarProductIds("123");
+    }
+
+    @Test
+    void shouldServeStaleSimilarProductIdsAndRefreshThemAfterSoftTimeToLive() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123"))
+                .thenReturn(List.of("456"))
+                .thenReturn(List.of("456", "789"));
+        similarProductsClient.getSimilarProductIds("123");
+        advance(Duration.ofSeconds(61));
+
+        // WHEN
+        List<String> staleResult = similarProductsClient.getSimilarProductIds("123");
+        runRefreshTasks();
+        List<String> refreshedResult = similarProductsClient.getSimilarProductIds("123");
+
+        // THEN
+        assertEquals(List.of("456"), staleResult);
+        assertEquals(List.of("456", "789"), refreshedResult);
+        verify(delegate, times(2)).getSimilarProductIds("123");
+    }
+
+    @Test
+    void shouldKeepServingCachedSimilarProductIdsWhenRefreshFails() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123"))
+                .thenReturn(List.of("456"))
+                .thenThrow(new SimilarProductsFetchingException("Upstream error"));
+        similarProductsClient.getSimilarProductIds("123");
+        advance(Duration.ofSeconds(61));
+
+        // WHEN
+        similarProductsClient.getSimilarProductIds("123");
+        runRefreshTasks();
+        List<String> result = similarProductsClient.getSimilarProductIds("123");
+
+        // THEN
+        assertEquals(List.of("456"), result);
+        verify(delegate, times(2)).getSimilarProductIds("123");
+    }
+
+    @Test
+    void shouldThrowWhenUpstreamFailsAfterHardTimeToLive() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123"))
+                .thenReturn(List.of("456"))
+                .thenThrow(new SimilarProductsFetchingException("Upstream error"));
+        similarProductsClient.getSimilarProductIds("123");
+        advance(Duration.ofHours(2));
+
+        // WHEN & THEN
+        assertThrows(SimilarProductsFetchingException.class, () ->
+                similarProductsClient.getSimilarProductIds("123")
+        );
+    }
+
+    @Test
+    void shouldNotCacheEmptySimilarProductIds() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of());
+
+        // WHEN
+        similarProductsClient.getSimilarProductIds("123");
+        List<String> result = similarProductsClient.getSimilarProductIds("123");
+
+        // THEN
+        assertTrue(result.isEmpty());
+        verify(delegate, times(2)).getSimilarProductIds("123");
+    }
+
+    private void runRefreshTasks() {
+        while (!refreshTasks.isEmpty()) {
+            refreshTasks.poll().run();
+        }
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
@@ -0,0 +1,99 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SimilarProductsCacheWarmerTest {
+
+    private final SimilarProductsClient similarProductsClient = mock(SimilarProductsClient.class);
+    private final Cache<String, Product> productDetailsCache = Caffeine.newBuilder()
+            .maximumSize(100)
+            .executor(Runnable::run)
+            .build();
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void shouldLoadHotProductsAndSnapshotBeforeStartupCompletes() throws Exception {
+        // GIVEN
+        Path hotProductsFile = Files.write(tempDir.resolve("hot-products.txt"), List.of("# hot", "1", "", "2"));
+        Path snapshotFile = Files.write(tempDir.resolve("snapshot.txt"), List.of("5"));
+        when(similarProductsClient.getSimilarProductIds("1")).thenReturn(List.of("3", "4"));
+        when(similarProductsClient.getSimilarProductIds("2")).thenThrow(new IllegalStateException("unavailable"));
+        when(similarProductsClient.getProductDetails(anyString())).thenReturn(Optional.empty());
+        SimilarProductsCacheWarmer warmer = warmer(hotProductsFile, snapshotFile);
+
+        // WHEN
+        warmer.run(null);
+
+        // THEN
+        verify(similarProductsClient).getSimilarProductIds("1");
+        verify(similarProductsClient).getSimilarProductIds("2");
+        verify(similarProductsClient).getProductDetails("3");
+        verify(similarProductsClient).getProductDetails("4");
+        verify(similarProductsClient).getProductDetails("5");
+        verify(similarProductsClient, never()).getSimilarProductIds("5");
+    }
+
+    @Test
+    void shouldSkipWarmUpWhenThereAreNoHotProducts() throws Exception {
+        // GIVEN
+        SimilarProductsCacheWarmer warmer = warmer(tempDir.resolve("missing.txt"), null);
+
+        // WHEN
+        warmer.run(null);
+
+        // THEN
+        verifyNoInteractions(similarProductsClient);
+    }
+
+    @Test
+    void shouldWriteMostRequestedProductDetailsToSnapshotOnShutdown() throws IOException {
+        // GIVEN
+        Path snapshotFile = tempDir.resolve("snapshot.txt");
+        productDetailsCache.put("3", new Product("3", "Shirt", new BigDecimal("9.99"), true));
+        productDetailsCache.put("4", new Product("4", "Dress", new BigDecimal("19.99"), true));
+        SimilarProductsCacheWarmer warmer = warmer(null, snapshotFile);
+
+        // WHEN
+        warmer.destroy();
+
+        // THEN
+        assertEquals(List.of("3", "4"), Files.readAllLines(snapshotFile).stream().sorted().toList());
+    }
+
+    @Test
+    void shouldKeepPreviousSnapshotWhenNothingWasCached() throws IOException {
+        // GIVEN
+        Path snapshotFile = Files.write(tempDir.resolve("snapshot.txt"), List.of("5"));
+        SimilarProductsCacheWarmer warmer = warmer(null, snapshotFile);
+
+        // WHEN
+        warmer.destroy();
+
+        // THEN
+        assertEquals(List.of("5"), Files.readAllLines(snapshotFile));
+    }
+
+    private SimilarProductsCacheWarmer warmer(Path hotProductsFile, Path snapshotFile) {
+        return new SimilarProductsCacheWarmer(
+                similarProductsClient, productDetailsCache, hotProductsFile, snapshotFile, 10,
+                Duration.ofSeconds(5), 2);
+    }
+}
@@ -0,0 +1,120 @@
+package com.inditex.similarproducts.infrastructure.client.cache;
+
+import com.inditex.similarproducts.domain.client.SimilarProductsClient;
+import com.inditex.similarproducts.domain.models.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SnapshotSimilarProductsClientTest {
+
+    private final SimilarProductsClient delegate = mock(SimilarProductsClient.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Clock clock = Clock.fixed(Instant.ofEpochMilli(1_000_000L), ZoneOffset.UTC);
+    private MappedSnapshotStore snapshotStore;
+
+    @TempDir
+    private Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        snapshotStore = new MappedSnapshotStore(tempDir.resolve("snapshot.bin"), 16, 64 * 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        snapshotStore.close();
+    }
+
+    @Test
+    void shouldServeFreshEntriesOfThePreviousInstanceWithoutCallingDelegate() {
+        // GIVEN
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of("456"));
+        when(delegate.getProductDetails("456")).thenReturn(Optional.of(product));
+        SimilarProductsClient previousInstance = client();
+        previousInstance.getSimilarProductIds("123");
+        previousInstance.getProductDetails("456");
+        clock = Clock.offset(clock, Duration.ofSeconds(10));
+
+        // WHEN
+        SimilarProductsClient restartedInstance = client();
+        List<String> similarProductIds = restartedInstance.getSimilarProductIds("123");
+        Optional<Product> productDetails = restartedInstance.getProductDetails("456");
+
+        // THEN
+        assertEquals(List.of("456"), similarProductIds);
+        assertEquals(Optional.of(product), productDetails);
+        verify(delegate, times(1)).getSimilarProductIds("123");
+        verify(delegate, times(1)).getProductDetails("456");
+        assertEquals(1.0, meterRegistry.get("upstream.snapshot.lookups")
+                .tags("endpoint", "product", "outcome", "hit").counter().count());
+    }
+
+    @Test
+    void shouldNeverServeEntriesWrittenByThisInstance() {
+        // GIVEN
+        SimilarProductsClient similarProductsClient = client();
+        when(delegate.getProductDetails("456"))
+                .thenReturn(Optional.of(new Product("456", "Dress", new BigDecimal("19.99"), true)))
+                .thenReturn(Optional.of(new Product("456", "Dress", new BigDecimal("17.99"), true)));
+        similarProductsClient.getProductDetails("456");
+        clock = Clock.offset(clock, Duration.ofSeconds(10));
+
+        // WHEN
+        Optional<Product> reloaded = similarProductsClient.getProductDetails("456");
+
+        // THEN
+        assertEquals(new BigDecimal("17.99"), reloaded.orElseThrow().getPrice());
+        verify(delegate, times(2)).getProductDetails("456");
+    }
+
+    @Test
+    void shouldFetchAgainOnceTheEntryIsOlderThanTimeToLive() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of("456")).thenReturn(List.of("789"));
+        client().getSimilarProductIds("123");
+        clock = Clock.offset(clock, Duration.ofMinutes(2));
+
+        // WHEN
+        List<String> result = client().getSimilarProductIds("123");
+
+        // THEN
+        assertEquals(List.of("789"), result);
+        verify(delegate, times(2)).getSimilarProductIds("123");
+    }
+
+    @Test
+    void shouldNotStoreEmptyAnswers() {
+        // GIVEN
+        when(delegate.getSimilarProductIds("123")).thenReturn(List.of());
+        when(delegate.getProductDetails("456")).thenReturn(Optional.empty());
+
+        // WHEN
+        client().getSimilarProductIds("123");
+        client().getProductDetails("456");
+
+        // THEN
+        assertEquals(0, snapshotStore.getEntryCount());
+    }
+
+    private SimilarProductsClient client() {
+        return new SnapshotSimilarProductsClient(
+                delegate, snapshotStore, Duration.ofMinutes(1), Duration.ofMinutes(1), clock, meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+            1, Duration.ofMillis(50), Duration.ofSeconds(1), meterRegistry);
+
+    @Test
+    void shouldRejectRequestsThatCannotBeAdmittedWithinMaxQueueTime() throws Exception {
+        // GIVEN
+        MockHttpServletRequest admittedRequest = new MockHttpServletRequest();
+        interceptor.preHandle(admittedRequest, response, null);
+
+        // WHEN
+        long start = System.nanoTime();
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // THEN
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(50).toNanos());
+        assertEquals(Duration.ofSeconds(1), exception.getRetryAfter());
+        assertEquals(1, interceptor.getActiveRequests());
+        assertEquals(1.0, meterRegistry.get("http.server.admission.rejected").counter().count());
+    }
+
+    @Test
+    void shouldRejectWithoutQueueingWhileOverloaded() throws Exception {
+        // GIVEN
+        interceptor.preHandle(new MockHttpServletRequest(), response, null);
+        assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // WHEN
+        long start = System.nanoTime();
+        assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest(), response, null));
+
+        // THEN
+        assertTrue(System.nanoTime() - start < Duration.ofMillis(50).toNanos());
+        assertEquals(2.0, meterRegistry.get("http.server.admission.rejected").counter().count());
+    }
+
+    @Test
+    void shouldAdmitNextRequestOnceAdmittedOneCompletes() throws Exception {
+        // GIVEN
+        MockHttpServletRequest admittedRequest = new MockHttpServletRequest();
+        interceptor.preHandle(admittedRequest, response, null);
+        interceptor.afterCompletion(admittedRequest, response, null, null);
+        interceptor.afterCompletion(admittedRequest, response, null, null);
+
+        // WHEN
+        boolean admitted = interceptor.preHandle(new MockHttpServletRequest(), response, null);
+
+        // THEN
+        assertTrue(admitted);
+        assertEquals(1, interceptor.getActiveRequests());
+        assertEquals(2, meterRegistry.get("http.server.admission.queueing").timer().count());
+    }
+
+    @Test
+    void shouldReleaseSlotWhenStreamingStartsAndLetAsyncDispatchThrough() throws Exception {
+        // GIVEN
+        MockHttpServletRequest streamingRequest = new MockHttpServletRequest();
+        interceptor.preHandle(streamingRequest, response, null);
+
+        // WHEN
+        interceptor.afterConcurrentHandlingStarted(streamingRequest, response, null);
+        streamingRequest.setDispatcherType(DispatcherType.ASYNC);
+        boolean dispatched = interceptor.preHandle(streamingRequest, response, null);
+
+        // THEN
+        assertTrue(dispatched);
+        assertEquals(0, interceptor.getActiveRequests());
+    }
+}
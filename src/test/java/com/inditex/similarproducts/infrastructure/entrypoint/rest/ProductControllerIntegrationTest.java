@@ -1,30 +1,43 @@
 package com.inditex.similarproducts.infrastructure.entrypoint.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.inditex.similarproducts.domain.client.SimilarProductsClient;
 import com.inditex.similarproducts.domain.models.Product;
-import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.SimilarProductsResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @ActiveProfiles("test")
 class ProductControllerIntegrationTest {
 
     @Autowired
-    private ProductController productController;
+    private BlockingProductController productController;
+
+    @LocalServerPort
+    private int port;
 
     @MockBean
     private SimilarProductsClient similarProductsClient;
@@ -41,23 +54,67 @@ class ProductControllerIntegrationTest {
         when(similarProductsClient.getProductDetails("456")).thenReturn(Optional.of(product1));
         when(similarProductsClient.getProductDetails("789")).thenReturn(Optional.of(product2));
 
-        ProductResponseDTO expectedProductSimilar1 = new ProductResponseDTO(
-                "456", "Dress", new BigDecimal("19.99"), true
-        );
-        ProductResponseDTO expectedProductSimilar2 = new ProductResponseDTO(
-                "789", "Blazer", new BigDecimal("29.99"), false
-        );
-
         // WHEN
-        ResponseEntity<List<ProductResponseDTO>> responseEntity = productController.getSimilarProducts(productId);
-        List<ProductResponseDTO> actualResponse = responseEntity.getBody();
+        ResponseEntity<SimilarProductsResponse> responseEntity = productController.getSimilarProducts(productId);
+        SimilarProductsResponse actualResponse = responseEntity.getBody();
 
         // THEN
         assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(actualResponse)
-                .isNotNull()
+        assertThat(actualResponse).isNotNull();
+        assertThat(actualResponse.getProducts())
                 .hasSize(2)
-                .containsExactlyInAnyOrder(expectedProductSimilar1, expectedProductSimilar2);
+                .containsExactlyInAnyOrder(product1, product2);
+    }
+
+    @Test
+    void shouldCompressLargeResponsesWhenGzipIsAccepted() throws Exception {
+        // GIVEN
+        givenSimilarProducts("1", 50);
+
+        // WHEN
+        HttpResponse<byte[]> response = getSimilarProducts("1", "gzip");
+
+        // THEN
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).contains("gzip");
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+            assertThat(new ObjectMapper().readTree(body)).hasSize(50);
+        }
+    }
+
+    @Test
+    void shouldNotCompressResponsesBelowTheThreshold() throws Exception {
+        // GIVEN
+        givenSimilarProducts("2", 1);
+
+        // WHEN
+        HttpResponse<byte[]> response = getSimilarProducts("2", "gzip");
+
+        // THEN
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).isEmpty();
+        assertThat(new ObjectMapper().readTree(response.body())).hasSize(1);
     }
 
-}
\ No newline at end of file
+    private void givenSimilarProducts(String productId, int count) {
+        List<String> similarProductIds = IntStream.rangeClosed(1, count)
+                .mapToObj(id -> productId + "-" + id)
+                .toList();
+        when(similarProductsClient.getSimilarProductIds(productId)).thenReturn(similarProductIds);
+        for (String similarProductId : similarProductIds) {
+            when(similarProductsClient.getProductDetails(similarProductId)).thenReturn(Optional.of(
+                    new Product(similarProductId, "Product " + similarProductId, new BigDecimal("19.99"), true)));
+        }
+    }
+
+    private HttpResponse<byte[]> getSimilarProducts(String productId, String acceptEncoding) throws Exception {
+        // The JDK client does not decompress, so the encoding chosen by the server can be checked
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/product/" + productId + "/similar"))
+                    .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding)
+                    .build();
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.inditex.similarproducts.infrastructure.entrypoint.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
 import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Deadline;
 import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsBatch;
+import com.inditex.similarproducts.domain.models.SimilarProductsStream;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsBatchUseCase;
 import com.inditex.similarproducts.domain.usecases.GetSimilarProductsUseCase;
 import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
 import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
@@ -13,14 +20,27 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.client.HttpClientErrorException;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -30,9 +50,15 @@ class ProductControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private BlockingProductController productController;
+
     @MockBean
     private GetSimilarProductsUseCase getSimilarProductsUseCase;
 
+    @MockBean
+    private GetSimilarProductsBatchUseCase getSimilarProductsBatchUseCase;
+
     @MockBean
     private ProductMapper productMapper;
 
@@ -44,12 +70,8 @@ class ProductControllerTest {
                 new Product("456", "Dress", new BigDecimal("19.99"), true),
                 new Product("789", "Blazer", new BigDecimal("29.99"), false)
         );
-        when(getSimilarProductsUseCase.getSimilarProducts(productId)).thenReturn(products);
-
-        when(productMapper.toResponseDTO(products.get(0)))
-                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
-        when(productMapper.toResponseDTO(products.get(1)))
-                .thenReturn(new ProductResponseDTO("789", "Blazer", new BigDecimal("29.99"), false));
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(new SimilarProducts(products, false));
 
         // WHEN & THEN
         mockMvc.perform(get("/product/{productId}/similar", productId)
@@ -63,11 +85,56 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[1].id").value("789"))
                 .andExpect(jsonPath("$[1].name").value("Blazer"))
                 .andExpect(jsonPath("$[1].price").value(29.99))
-                .andExpect(jsonPath("$[1].availability").value(false));
+                .andExpect(jsonPath("$[1].availability").value(false))
+                .andExpect(header().doesNotExist("X-Partial-Result"));
+
+        verify(getSimilarProductsUseCase).getSimilarProducts(eq(productId), any(Deadline.class));
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void shouldReturnSimilarProductsAsCborWhenRequested() throws Exception {
+        // GIVEN
+        String productId = "123";
+        List<Product> products = List.of(
+                new Product("456", "Dress", new BigDecimal("19.99"), true),
+                new Product("789", "Blazer", new BigDecimal("29.99"), false)
+        );
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(new SimilarProducts(products, false));
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/product/{productId}/similar", productId)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // THEN
+        JsonNode cborProducts = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals(2, cborProducts.size());
+        assertEquals("456", cborProducts.get(0).get("id").asText());
+        assertEquals("Dress", cborProducts.get(0).get("name").asText());
+        assertEquals(new BigDecimal("19.99"), cborProducts.get(0).get("price").decimalValue());
+        assertEquals(true, cborProducts.get(0).get("availability").asBoolean());
+        assertEquals("789", cborProducts.get(1).get("id").asText());
+        assertEquals(new BigDecimal("29.99"), cborProducts.get(1).get("price").decimalValue());
+    }
 
-        verify(getSimilarProductsUseCase).getSimilarProducts(productId);
-        verify(productMapper, times(1)).toResponseDTO(products.get(0));
-        verify(productMapper, times(1)).toResponseDTO(products.get(1));
+    @Test
+    void shouldPreferJsonWhenAnyMediaTypeIsAccepted() throws Exception {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(new SimilarProducts(List.of(new Product("456", "Dress", new BigDecimal("19.99"), true)),
+                        false));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/{productId}/similar", productId)
+                        .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value("456"));
     }
 
     @Test
@@ -75,7 +142,7 @@ class ProductControllerTest {
         // GIVEN
         String productId = "123";
         when(getSimilarProductsUseCase
-                .getSimilarProducts(productId))
+                .getSimilarProducts(eq(productId), any(Deadline.class)))
                 .thenThrow(
                         new SimilarProductsNotFoundException("No similar products found for productId: " + productId));
 
@@ -85,7 +152,7 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message")
                         .value("No similar products found for productId: 123"));
 
-        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(productId);
+        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(eq(productId), any(Deadline.class));
     }
 
     @Test
@@ -93,7 +160,7 @@ class ProductControllerTest {
         // GIVEN
         String productId = "123";
         when(getSimilarProductsUseCase
-                .getSimilarProducts(productId))
+                .getSimilarProducts(eq(productId), any(Deadline.class)))
                 .thenThrow(
                         new SimilarProductsFetchingException("Failed to fetch similar products for productId: " + productId));
 
@@ -103,7 +170,7 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message")
                         .value("Failed to fetch similar products for productId: 123"));
 
-        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(productId);
+        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(eq(productId), any(Deadline.class));
     }
 
     @Test
@@ -111,7 +178,7 @@ class ProductControllerTest {
         // GIVEN
         String productId = "123";
         when(getSimilarProductsUseCase
-                .getSimilarProducts(productId))
+                .getSimilarProducts(eq(productId), any(Deadline.class)))
                 .thenThrow(
                         new RuntimeException("Unexpected error occurred"));
 
@@ -121,7 +188,7 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message")
                         .value("Internal server error, please try later"));
 
-        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(productId);
+        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(eq(productId), any(Deadline.class));
     }
 
     @Test
@@ -129,7 +196,7 @@ class ProductControllerTest {
         // GIVEN
         String productId = "123";
         when(getSimilarProductsUseCase
-                .getSimilarProducts(productId))
+                .getSimilarProducts(eq(productId), any(Deadline.class)))
                 .thenThrow(
                         new HttpClientErrorException(HttpStatus.BAD_REQUEST, "Bad Request"));
 
@@ -139,7 +206,194 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.message")
                         .value("400 Bad Request"));
 
-        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(productId);
+        verify(getSimilarProductsUseCase, times(1)).getSimilarProducts(eq(productId), any(Deadline.class));
+    }
+
+    @Test
+    void shouldReturnServiceUnavailableWithRetryAfterWhenOverloaded() throws Exception {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenThrow(new ServiceOverloadedException("Service overloaded, please retry later",
+                        Duration.ofSeconds(2)));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/{productId}/similar", productId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.message").value("Service overloaded, please retry later"));
+    }
+
+    @Test
+    void shouldMarkResponseAsPartialWhenLatencyBudgetRunsOut() throws Exception {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(new SimilarProducts(List.of(product), true));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/{productId}/similar", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Partial-Result", "true"))
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].id").value("456"));
+    }
+
+    @Test
+    void shouldReturnSimilarProductsOfEachRequestedProduct() throws Exception {
+        // GIVEN
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Map<String, SimilarProducts> similarProducts = new LinkedHashMap<>();
+        similarProducts.put("1", new SimilarProducts(List.of(product), false));
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        failures.put("2", new SimilarProductsNotFoundException("No similar products found for productId: 2"));
+        failures.put("3", new SimilarProductsFetchingException("Failed to fetch similar products for productId: 3"));
+        when(getSimilarProductsBatchUseCase.getSimilarProducts(eq(List.of("1", "2", "3")), any(Deadline.class)))
+                .thenReturn(new SimilarProductsBatch(similarProducts, failures));
+        when(productMapper.toResponseDTO(product))
+                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/similar").param("productIds", "1,2,3")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1.status").value(200))
+                .andExpect(jsonPath("$.1.products[0].id").value("456"))
+                .andExpect(jsonPath("$.1.partial").doesNotExist())
+                .andExpect(jsonPath("$.1.message").doesNotExist())
+                .andExpect(jsonPath("$.2.status").value(404))
+                .andExpect(jsonPath("$.2.products").doesNotExist())
+                .andExpect(jsonPath("$.2.message").value("No similar products found for productId: 2"))
+                .andExpect(jsonPath("$.3.status").value(500))
+                .andExpect(jsonPath("$.3.message").value("Failed to fetch similar products for productId: 3"));
+    }
+
+    @Test
+    void shouldReturnBatchEntriesInTheOrderTheProductsWereRequested() throws Exception {
+        // GIVEN
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Map<String, SimilarProducts> similarProducts = new LinkedHashMap<>();
+        similarProducts.put("1", new SimilarProducts(List.of(product), false));
+        similarProducts.put("3", new SimilarProducts(List.of(product), false));
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        failures.put("2", new SimilarProductsNotFoundException("No similar products found for productId: 2"));
+        when(getSimilarProductsBatchUseCase.getSimilarProducts(eq(List.of("2", "3", "1")), any(Deadline.class)))
+                .thenReturn(new SimilarProductsBatch(similarProducts, failures));
+        when(productMapper.toResponseDTO(product))
+                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
+
+        // WHEN
+        MvcResult result = mockMvc.perform(get("/product/similar").param("productIds", "2,3,1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // THEN
+        String body = result.getResponse().getContentAsString();
+        assertTrue(body.indexOf("\"2\"") < body.indexOf("\"3\""));
+        assertTrue(body.indexOf("\"3\"") < body.indexOf("\"1\""));
+    }
+
+    @Test
+    void shouldNotExposeInternalIllegalArgumentsAsBadRequests() throws Exception {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenThrow(new IllegalArgumentException("Snapshot size 10 cannot hold the index"));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/{productId}/similar", productId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("Internal server error, please try later"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTooManyProductsAreRequested() throws Exception {
+        // GIVEN
+        String productIds = String.join(",", Collections.nCopies(51, "1"));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/similar").param("productIds", productIds)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("At most 50 product IDs can be requested at once"));
+
+        verifyNoInteractions(getSimilarProductsBatchUseCase);
+    }
+
+    @Test
+    void shouldStreamSimilarProductsAsNdjsonWhenRequested() throws Exception {
+        // GIVEN
+        String productId = "123";
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+        SimilarProductsStream similarProducts = onProduct -> {
+            onProduct.accept(product2);
+            onProduct.accept(product1);
+        };
+        when(getSimilarProductsUseCase.streamSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(similarProducts);
+        when(productMapper.toResponseDTO(product1))
+                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
+        when(productMapper.toResponseDTO(product2))
+                .thenReturn(new ProductResponseDTO("789", "Blazer", new BigDecimal("29.99"), false));
+
+        // WHEN
+        MvcResult mvcResult = mockMvc.perform(get("/product/{productId}/similar", productId)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvcResult.getAsyncResult(1000);
+
+        // THEN
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, mvcResult.getResponse().getContentType());
+        assertEquals("""
+                {"id":"789","name":"Blazer","price":29.99,"availability":false}
+                {"id":"456","name":"Dress","price":19.99,"availability":true}
+                """, mvcResult.getResponse().getContentAsString());
+    }
+
+    @Test
+    void shouldInterruptTheFanOutWhenTheStreamIsCancelled() throws Exception {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        SimilarProductsStream similarProducts = onProduct -> {
+            onProduct.accept(product);
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        };
+        when(getSimilarProductsUseCase.streamSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(similarProducts);
+        when(productMapper.toResponseDTO(product))
+                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
+
+        // WHEN
+        StepVerifier.create(productController.streamSimilarProducts(productId))
+                .expectNextCount(1)
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+
+        // THEN
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldReturnNotFoundBeforeStreamingWhenNoSimilarProducts() throws Exception {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.streamSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenThrow(new SimilarProductsNotFoundException("No similar products found for productId: 123"));
+
+        // WHEN & THEN
+        mockMvc.perform(get("/product/{productId}/similar", productId)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("No similar products found for productId: 123"));
+    }
+}
@@ -0,0 +1,214 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsFetchingException;
+import com.inditex.similarproducts.domain.exceptions.SimilarProductsNotFoundException;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.domain.models.Deadline;
+import com.inditex.similarproducts.domain.models.SimilarProducts;
+import com.inditex.similarproducts.domain.models.SimilarProductsBatch;
+import com.inditex.similarproducts.domain.usecases.GetSimilarProductsBatchUseCase;
+import com.inditex.similarproducts.domain.usecases.ReactiveGetSimilarProductsUseCase;
+import com.inditex.similarproducts.infrastructure.config.entrypoint.RestEntrypointConfig;
+import com.inditex.similarproducts.infrastructure.entrypoint.rest.response.ProductResponseDTO;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest
+@Import(RestEntrypointConfig.class)
+class ReactiveProductControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveGetSimilarProductsUseCase getSimilarProductsUseCase;
+
+    @MockBean
+    private GetSimilarProductsBatchUseCase getSimilarProductsBatchUseCase;
+
+    @MockBean
+    private ProductMapper productMapper;
+
+    @Test
+    void shouldReturnSimilarProductsWhenFetchIsSuccessful() {
+        // GIVEN
+        String productId = "123";
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(Mono.just(new SimilarProducts(List.of(product1, product2), false)));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/{productId}/similar", productId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo("456")
+                .jsonPath("$[0].price").isEqualTo(19.99)
+                .jsonPath("$[1].id").isEqualTo("789")
+                .jsonPath("$[1].availability").isEqualTo(false);
+    }
+
+    @Test
+    void shouldMarkTheResponseAsPartialWhenTheLatencyBudgetRunsOut() {
+        // GIVEN
+        String productId = "123";
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(Mono.just(new SimilarProducts(List.of(product), true)));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/{productId}/similar", productId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(BlockingProductController.PARTIAL_RESULT_HEADER, "true")
+                .expectBody()
+                .jsonPath("$.size()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo("456");
+    }
+
+    @Test
+    void shouldReturnSimilarProductsAsCborWhenRequested() throws Exception {
+        // GIVEN
+        String productId = "123";
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(Mono.just(new SimilarProducts(List.of(product1, product2), false)));
+
+        // WHEN
+        byte[] body = webTestClient.get().uri("/product/{productId}/similar", productId)
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // THEN
+        JsonNode cborProducts = new CBORMapper().readTree(body);
+        assertEquals(2, cborProducts.size());
+        assertEquals("456", cborProducts.get(0).get("id").asText());
+        assertEquals(new BigDecimal("19.99"), cborProducts.get(0).get("price").decimalValue());
+        assertEquals("789", cborProducts.get(1).get("id").asText());
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenNoSimilarProducts() {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class))).thenReturn(Mono.error(
+                new SimilarProductsNotFoundException("No similar products found for productId: " + productId)));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/{productId}/similar", productId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No similar products found for productId: 123");
+    }
+
+    @Test
+    void shouldReturnInternalServerErrorWhenFetchFails() {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.getSimilarProducts(eq(productId), any(Deadline.class))).thenReturn(Mono.error(
+                new SimilarProductsFetchingException("Failed to fetch similar products for productId: " + productId)));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/{productId}/similar", productId)
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Failed to fetch similar products for productId: 123");
+    }
+
+    @Test
+    void shouldStreamSimilarProductsAsNdjsonWhenRequested() {
+        // GIVEN
+        String productId = "123";
+        Product product1 = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        Product product2 = new Product("789", "Blazer", new BigDecimal("29.99"), false);
+        when(getSimilarProductsUseCase.streamSimilarProducts(eq(productId), any(Deadline.class)))
+                .thenReturn(Flux.just(product1, product2));
+        when(productMapper.toResponseDTO(product1))
+                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
+        when(productMapper.toResponseDTO(product2))
+                .thenReturn(new ProductResponseDTO("789", "Blazer", new BigDecimal("29.99"), false));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/{productId}/similar", productId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .isEqualTo("""
+                        {"id":"456","name":"Dress","price":19.99,"availability":true}
+                        {"id":"789","name":"Blazer","price":29.99,"availability":false}
+                        """);
+    }
+
+    @Test
+    void shouldReturnNotFoundBeforeStreamingWhenNoSimilarProducts() {
+        // GIVEN
+        String productId = "123";
+        when(getSimilarProductsUseCase.streamSimilarProducts(eq(productId), any(Deadline.class))).thenReturn(Flux.error(
+                new SimilarProductsNotFoundException("No similar products found for productId: " + productId)));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/{productId}/similar", productId)
+                .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("No similar products found for productId: 123");
+    }
+
+    @Test
+    void shouldStillServeTheBatchEndpoint() {
+        // GIVEN
+        Product product = new Product("456", "Dress", new BigDecimal("19.99"), true);
+        when(getSimilarProductsBatchUseCase.getSimilarProducts(eq(List.of("1")), any(Deadline.class)))
+                .thenReturn(new SimilarProductsBatch(
+                        Map.of("1", new SimilarProducts(List.of(product), false)), Map.of()));
+        when(productMapper.toResponseDTO(product))
+                .thenReturn(new ProductResponseDTO("456", "Dress", new BigDecimal("19.99"), true));
+
+        // WHEN & THEN
+        webTestClient.get().uri("/product/similar?productIds=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.1.status").isEqualTo(200)
+                .jsonPath("$.1.products[0].id").isEqualTo("456");
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenProductIdsAreMissing() {
+        // WHEN & THEN
+        webTestClient.get().uri("/product/similar")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(getSimilarProductsBatchUseCase);
+    }
+}
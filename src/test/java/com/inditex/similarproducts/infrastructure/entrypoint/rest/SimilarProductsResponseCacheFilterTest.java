@@ -0,0 +1,166 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarProductsResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":\"456\",\"name\":\"Dress\",\"price\":19.99,\"availability\":true}]";
+    private static final byte[] CBOR_BODY = {(byte) 0x81, (byte) 0xa1, 0x62, 'i', 'd', 0x63, '4', '5', '6'};
+
+    private final SimilarProductsResponseCacheFilter filter =
+            new SimilarProductsResponseCacheFilter(Caffeine.newBuilder().maximumSize(100));
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    @Test
+    void shouldServeRepeatedRequestsFromCachedBytesWithAnEtag() throws Exception {
+        // GIVEN
+        MockHttpServletResponse firstResponse = perform(request(), false);
+
+        // WHEN
+        MockHttpServletResponse secondResponse = perform(request(), false);
+
+        // THEN
+        assertEquals(1, controllerCalls.get());
+        assertEquals(HttpServletResponse.SC_OK, secondResponse.getStatus());
+        assertEquals(BODY, secondResponse.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, secondResponse.getContentType());
+        assertNotNull(firstResponse.getHeader(HttpHeaders.ETAG));
+        assertEquals(firstResponse.getHeader(HttpHeaders.ETAG), secondResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenEtagMatches() throws Exception {
+        // GIVEN
+        String etag = perform(request(), false).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag);
+
+        // WHEN
+        MockHttpServletResponse response = perform(request, false);
+
+        // THEN
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldNotCachePartialResponses() throws Exception {
+        // GIVEN
+        perform(request(), true);
+
+        // WHEN
+        MockHttpServletResponse response = perform(request(), true);
+
+        // THEN
+        assertEquals(2, controllerCalls.get());
+        assertEquals(BODY, response.getContentAsString());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldCacheEachNegotiatedRepresentationApart() throws Exception {
+        // GIVEN
+        perform(request(), false);
+        MockHttpServletRequest cborRequest = request();
+        cborRequest.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_CBOR_VALUE);
+        perform(cborRequest, false);
+
+        // WHEN
+        MockHttpServletResponse jsonResponse = perform(request(), false);
+        MockHttpServletResponse cborResponse = perform(cborRequest, false);
+
+        // THEN
+        assertEquals(2, controllerCalls.get());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, jsonResponse.getContentType());
+        assertEquals(BODY, jsonResponse.getContentAsString());
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cborResponse.getContentType());
+        assertArrayEquals(CBOR_BODY, cborResponse.getContentAsByteArray());
+        assertNotEquals(jsonResponse.getHeader(HttpHeaders.ETAG), cborResponse.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldShareOneEntryBetweenAcceptHeadersNegotiatingJson() throws Exception {
+        // GIVEN
+        perform(request(), false);
+
+        // WHEN
+        for (String accept : new String[] {"*/*", "application/json", "text/html, application/*;q=0.9"}) {
+            MockHttpServletRequest request = request();
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+            assertEquals(BODY, perform(request, false).getContentAsString());
+        }
+
+        // THEN
+        assertEquals(1, controllerCalls.get());
+        assertEquals(1, filter.getResponseCache().estimatedSize());
+    }
+
+    @Test
+    void shouldVaryOnAcceptForFreshAndCachedResponses() throws Exception {
+        // WHEN
+        MockHttpServletResponse freshResponse = perform(request(), false);
+        MockHttpServletResponse cachedResponse = perform(request(), false);
+
+        // THEN
+        assertEquals(1, controllerCalls.get());
+        assertEquals(HttpHeaders.ACCEPT, freshResponse.getHeader(HttpHeaders.VARY));
+        assertEquals(HttpHeaders.ACCEPT, cachedResponse.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void shouldNotCacheStreamingRequests() throws Exception {
+        // GIVEN
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE);
+
+        // WHEN
+        perform(request, false);
+
+        // THEN
+        assertEquals(0, filter.getResponseCache().estimatedSize());
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/product/123/similar");
+    }
+
+    // Stands in for BlockingProductController, writing the body of the response in the requested representation
+    private MockHttpServletResponse perform(MockHttpServletRequest request, boolean partial) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+                    throws IOException {
+                controllerCalls.incrementAndGet();
+                resp.setStatus(HttpServletResponse.SC_OK);
+                if (partial) {
+                    resp.setHeader(BlockingProductController.PARTIAL_RESULT_HEADER, "true");
+                }
+                if (MediaType.APPLICATION_CBOR_VALUE.equals(req.getHeader(HttpHeaders.ACCEPT))) {
+                    resp.setContentType(MediaType.APPLICATION_CBOR_VALUE);
+                    resp.getOutputStream().write(CBOR_BODY);
+                } else {
+                    resp.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                    resp.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }));
+        return response;
+    }
+}
@@ -0,0 +1,45 @@
+package com.inditex.similarproducts.infrastructure.entrypoint.rest.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inditex.similarproducts.domain.models.Product;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapper;
+import com.inditex.similarproducts.infrastructure.mappers.ProductMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarProductsResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ProductMapper productMapper = new ProductMapperImpl();
+
+    @Test
+    void shouldWriteSameBytesAsProductResponseDTOs() throws Exception {
+        // GIVEN
+        List<Product> products = List.of(
+                new Product("456", "Dress", new BigDecimal("19.99"), true),
+                new Product("789", "Blazer \"slim\" ñ", new BigDecimal("29.90"), false),
+                new Product("101", "Coat", new BigDecimal("1E+3"), true),
+                new Product("102", null, null, false));
+        List<ProductResponseDTO> responseDTOs = products.stream().map(productMapper::toResponseDTO).toList();
+
+        // WHEN
+        byte[] result = objectMapper.writeValueAsBytes(new SimilarProductsResponse(products));
+
+        // THEN
+        assertArrayEquals(objectMapper.writeValueAsBytes(responseDTOs), result);
+    }
+
+    @Test
+    void shouldWriteEmptyArrayWhenThereAreNoProducts() throws Exception {
+        // WHEN
+        String result = objectMapper.writeValueAsString(new SimilarProductsResponse(List.of()));
+
+        // THEN
+        assertEquals("[]", result);
+    }
+}
@@ -0,0 +1,50 @@
+package com.inditex.similarproducts.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldCountVirtualThreadsBlockedInsideSynchronizedBlocks() throws Exception {
+        // GIVEN
+        Object lock = new Object();
+        try (VirtualThreadPinningMonitor monitor =
+                     new VirtualThreadPinningMonitor(Duration.ofMillis(10), meterRegistry)) {
+            monitor.start();
+
+            // WHEN
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(Duration.ofMillis(50));
+                }
+            }).join();
+
+            // THEN
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (pinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(1.0, pinnedCount());
+            assertEquals(1, meterRegistry.get("jvm.threads.virtual.pinned.duration").timer().count());
+        }
+    }
+
+    private double pinnedCount() {
+        return meterRegistry.get("jvm.threads.virtual.pinned").counter().count();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}